@@ -1,6 +1,7 @@
 package com.iforddow.authservice.application.listeners;
 
 import com.iforddow.authservice.application.events.RegistrationEvent;
+import com.iforddow.authservice.auth.cache.RegisteredEmailFilter;
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import com.iforddow.authservice.auth.service.EmailVerificationService;
 import com.iforddow.authservice.auth.service.RegistrationService;
@@ -32,6 +33,7 @@ public class RegistrationEventListener {
     private final RabbitSenderService rabbitSenderService;
     private final EmailVerificationService emailVerificationService;
     private final RegistrationService registrationService;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     @Value("${frontend.base.url}")
     private String frontendBaseUrl;
@@ -56,6 +58,9 @@ public class RegistrationEventListener {
 
         Account account = event.account();
 
+        // Let every node know the email exists, only after commit so a filter rebuild cannot miss it
+        registeredEmailFilter.registered(account.getEmail());
+
         // Send message to other services about new account — log failures but do not throw
         rabbitSenderService.sendNewAccountMessage(account.getId().toString());
 
@@ -0,0 +1,119 @@
+package com.iforddow.authservice.auth.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+* An in-process buffer of account activity for write-behind updates of
+* Account.lastActive. Every session validation records the time against
+* its account, and any number of validations of the same account between
+* flushes collapse into its latest timestamp.
+*
+* The buffer is a ConcurrentHashMap, which already locks per bin rather
+* than per map, so concurrent requests of different accounts do not
+* contend.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Component
+@RequiredArgsConstructor
+public class AccountActivityBuffer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${account.activity.enabled}")
+    private boolean enabled;
+
+    @Value("${account.activity.max.pending}")
+    private int maxPending;
+
+    private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+
+    private Counter dropped;
+
+    /**
+    * A method to register metrics.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+        dropped = meterRegistry.counter("account.activity.dropped");
+        meterRegistry.gaugeMapSize("account.activity.pending", List.of(), pending);
+    }
+
+    /**
+    * A method to record that an account was active just now.
+    *
+    * @param accountId The ID of the active account.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void record(UUID accountId) {
+        if(enabled) {
+            record(accountId, Instant.now().toEpochMilli());
+        }
+    }
+
+    /**
+    * A method to take every pending activity out of the buffer.
+    *
+    * @return The latest activity time per account, in epoch millis.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public Map<UUID, Long> drain() {
+
+        Map<UUID, Long> drained = new HashMap<>(pending.size());
+
+        for(UUID accountId : pending.keySet()) {
+            Long lastActive = pending.remove(accountId);
+
+            if(lastActive != null) {
+                drained.put(accountId, lastActive);
+            }
+        }
+
+        return drained;
+    }
+
+    /**
+    * A method to put activity back after a failed flush, so it is
+    * retried with the next one. Newer activity recorded meanwhile wins.
+    *
+    * @param activity The drained activity that could not be written.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void requeue(Map<UUID, Long> activity) {
+        activity.forEach(this::record);
+    }
+
+    private void record(UUID accountId, long epochMillis) {
+
+        // If the buffer is full the activity is dropped, the account's next request records it again
+        if(pending.size() >= maxPending && !pending.containsKey(accountId)) {
+            dropped.increment();
+            return;
+        }
+
+        pending.merge(accountId, epochMillis, Math::max);
+    }
+
+}
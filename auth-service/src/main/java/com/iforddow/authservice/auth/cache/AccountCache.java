@@ -0,0 +1,300 @@
+package com.iforddow.authservice.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iforddow.authservice.auth.entity.jpa.Account;
+import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
+import com.iforddow.authservice.common.utility.AuthServiceUtility;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+* A two-tier cache of account lookups by normalised email. A short-lived,
+* bounded node-local cache sits in front of the accounts cache of the
+* RedisCacheManager, which sits in front of Postgres. Lookups by ID all
+* change the account they read, so they go to the AccountRepository.
+*
+* A miss is loaded once per node and key, concurrent lookups of the same
+* account wait for that load instead of each querying the database, so
+* a hot account costs at most one query per node.
+*
+* The cache keeps its own detached snapshot of an account and every
+* lookup gets a copy of it, so a caller changing the account it got
+* cannot change what other threads see. Code that changes an account
+* loads it from the AccountRepository, saves it and then calls evict,
+* which drops the account from Redis and from every node through a Redis
+* pub/sub channel once the transaction has committed.
+*
+* An evict also bumps a short-lived tombstone of the key. A load that read
+* the database before the evict sees the tombstone change and leaves
+* the shared tier alone, so the old row, password hash and lock state
+* included, is never cached again after the change.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountCache implements MessageListener {
+
+    public static final String CACHE_NAME = "accounts";
+
+    private static final String EMAIL_PREFIX = "email:";
+
+    private final AccountRepository accountRepository;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${account.cache.enabled}")
+    private boolean enabled;
+
+    @Value("${account.cache.local.max.size}")
+    private long localMaxSize;
+
+    @Value("${account.cache.local.ttl.seconds}")
+    private long localTtlSeconds;
+
+    @Value("${account.cache.invalidation.channel}")
+    private String invalidationChannel;
+
+    @Value("${account.cache.tombstone.prefix}")
+    private String tombstonePrefix;
+
+    @Value("${account.cache.tombstone.ttl.seconds}")
+    private long tombstoneTtlSeconds;
+
+    private Cache<String, Account> local;
+    private org.springframework.cache.Cache shared;
+
+    private Counter sharedHits;
+    private Counter sharedMisses;
+    private Counter invalidations;
+
+    /**
+    * A method to build the local cache, register its metrics and
+    * subscribe to the invalidation channel.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+
+        if(!enabled) {
+            return;
+        }
+
+        local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+
+        shared = cacheManager.getCache(CACHE_NAME);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "account.cache.local");
+        sharedHits = meterRegistry.counter("account.cache.shared", "result", "hit");
+        sharedMisses = meterRegistry.counter("account.cache.shared", "result", "miss");
+        invalidations = meterRegistry.counter("account.cache.invalidations");
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+    }
+
+    /**
+    * A method to find an account by email. Entries are keyed by the
+    * normalised email, but like the repository lookup only an account
+    * with exactly this email is returned.
+    *
+    * @param email The email of the account.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public Optional<Account> findByEmail(String email) {
+
+        String normalized = AuthServiceUtility.normalizeEmail(email);
+
+        if(!enabled || normalized == null) {
+            return accountRepository.findAccountByEmail(email);
+        }
+
+        Account account = load(EMAIL_PREFIX + normalized, () -> accountRepository.findAccountByEmail(email).orElse(null));
+
+        // Cached under a case variant of the email, the repository decides
+        if(account != null && !account.getEmail().equals(email)) {
+            return accountRepository.findAccountByEmail(email);
+        }
+
+        return Optional.ofNullable(account).map(AccountCache::copy);
+    }
+
+    /**
+    * A method to evict a changed or deleted account from every tier and
+    * every node. Within a transaction this happens after the commit, so
+    * a concurrent lookup cannot cache the old state again.
+    *
+    * @param account The account that was changed or deleted.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void evict(Account account) {
+
+        if(!enabled) {
+            return;
+        }
+
+        String key = key(account);
+
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(key);
+                }
+            });
+        } else {
+            evict(key);
+        }
+    }
+
+    /**
+    * A method to handle invalidations published by any node,
+    * including this one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        local.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+        invalidations.increment();
+    }
+
+    private Account load(String key, Supplier<Account> loader) {
+
+        // Loads of one key on this node are coalesced, a missing account is not cached
+        return local.get(key, k -> {
+
+            Account account = getShared(k);
+
+            if(account != null) {
+                sharedHits.increment();
+                return account;
+            }
+
+            sharedMisses.increment();
+
+            String tombstone = getTombstone(k);
+
+            account = loader.get();
+
+            // An evict racing the load bumps the tombstone, the row read may predate the change
+            if(account != null && tombstone != null && tombstone.equals(getTombstone(k))) {
+                putShared(account);
+            }
+
+            // The entry stays private to the cache, callers only ever get copies of it
+            return account != null ? copy(account) : null;
+        });
+    }
+
+    private Account getShared(String key) {
+        try {
+            return shared.get(key, Account.class);
+        } catch (Exception e) {
+            // Redis trouble only costs the database lookup
+            log.warn("Failed to read account cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String getTombstone(String key) {
+        try {
+            String tombstone = stringRedisTemplate.opsForValue().get(tombstonePrefix + key);
+            return tombstone != null ? tombstone : "0";
+        } catch (Exception e) {
+            // Unknown, so the load is not written to the shared tier
+            log.warn("Failed to read account cache tombstone: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putShared(Account account) {
+        try {
+            shared.put(key(account), account);
+        } catch (Exception e) {
+            log.warn("Failed to write account cache: {}", e.getMessage());
+        }
+    }
+
+    private void evict(String key) {
+
+        local.invalidate(key);
+
+        try {
+            // Before the evict, so a load that misses the evicted entry already sees the new tombstone
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byte[] tombstoneKey = (tombstonePrefix + key).getBytes(StandardCharsets.UTF_8);
+                connection.stringCommands().incr(tombstoneKey);
+                connection.keyCommands().expire(tombstoneKey, tombstoneTtlSeconds);
+                return null;
+            });
+
+            // Immediate, a deferred evict of the transaction aware cache would never run after commit
+            shared.evictIfPresent(key);
+
+            stringRedisTemplate.convertAndSend(invalidationChannel, key);
+        } catch (Exception e) {
+            // Other nodes still drop the entry once its local TTL runs out
+            log.warn("Failed to evict account {} from cache: {}", key, e.getMessage());
+        }
+    }
+
+    private static String key(Account account) {
+        return EMAIL_PREFIX + AuthServiceUtility.normalizeEmail(account.getEmail());
+    }
+
+    private static Account copy(Account account) {
+        return Account.builder()
+                .id(account.getId())
+                .email(account.getEmail())
+                .password(account.getPassword())
+                .enabled(account.getEnabled())
+                .expired(account.getExpired())
+                .locked(account.getLocked())
+                .credentialsExpired(account.getCredentialsExpired())
+                .userVerified(account.getUserVerified())
+                .createdAt(account.getCreatedAt())
+                .lastActive(account.getLastActive())
+                .authorities(account.getAuthorities() != null ? new ArrayList<>(account.getAuthorities()) : null)
+                .lockedUntil(account.getLockedUntil())
+                .build();
+    }
+
+}
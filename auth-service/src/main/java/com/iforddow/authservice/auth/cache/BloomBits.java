@@ -0,0 +1,98 @@
+package com.iforddow.authservice.auth.cache;
+
+import com.iforddow.authservice.common.utility.KeyHashUtility;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+* A single Bloom filter bit array sized for a number of insertions at a
+* false positive rate, the building block of RotatingBloomFilter and
+* ScalableBloomFilter. Bits are set with a compare-and-set, so inserts
+* and lookups are lock free, and set bits are counted for the rate
+* estimate.
+*
+* A value is hashed once into h1 and h2, and its k bit positions are
+* h1 + i * h2, so a lookup across several arrays hashes only once.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+final class BloomBits {
+
+    private final long bits;
+    private final int hashFunctions;
+
+    private final AtomicLongArray words;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    BloomBits(long expectedInsertions, double fpp) {
+
+        // m = -n ln p / (ln 2)^2 rounded up to whole words, k = m / n ln 2
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bits = (m + 63) & ~63L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+    }
+
+    static long h1(CharSequence value) {
+        return KeyHashUtility.hash(value);
+    }
+
+    // Odd, so the probe sequence never repeats a position early
+    static long h2(long h1) {
+        return KeyHashUtility.mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+    }
+
+    void put(long h1, long h2) {
+        for(int i = 0; i < hashFunctions; i++) {
+            set(Math.floorMod(h1 + i * h2, bits));
+        }
+    }
+
+    boolean containsAll(long h1, long h2) {
+
+        for(int i = 0; i < hashFunctions; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+
+            if((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // The chance that a value never added hits every one of its bits
+    double expectedFpp() {
+        return Math.pow((double) bitsSet.get() / bits, hashFunctions);
+    }
+
+    long bits() {
+        return bits;
+    }
+
+    int hashFunctions() {
+        return hashFunctions;
+    }
+
+    private void set(long bit) {
+
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+
+        long word;
+
+        do {
+            word = words.get(index);
+
+            if((word & mask) != 0) {
+                return;
+            }
+        } while(!words.compareAndSet(index, word, word | mask));
+
+        bitsSet.incrementAndGet();
+    }
+
+}
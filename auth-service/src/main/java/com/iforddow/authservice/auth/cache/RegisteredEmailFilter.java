@@ -0,0 +1,323 @@
+package com.iforddow.authservice.auth.cache;
+
+import com.iforddow.authservice.common.utility.AuthServiceUtility;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+* A node-local filter of registered emails, so logins, password resets
+* and verification emails for addresses that were never registered are
+* turned away without a database lookup.
+*
+* The filter is a scalable Bloom filter of normalised emails. It is built
+* by streaming the account table once the application starts and rebuilt
+* every account.email.filter.rebuild.interval.ms. New registrations are
+* added on the registering node and broadcast to every other node through
+* a Redis pub/sub channel. A Bloom filter cannot forget a value, so the
+* emails of deleted accounts stay in the filter until the next rebuild
+* and only cost a lookup, as before.
+*
+* Pub/sub is at most once, so registrations are also kept in a Redis
+* sorted set for account.email.filter.recent.retention.ms. An email the
+* filter reports absent is checked there before it is turned away. A
+* filter older than the retention is not trusted at all, and the filter
+* is rebuilt whenever the channel is subscribed again after a reconnect.
+*
+* Until the first build is done every email is reported as possibly
+* registered.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegisteredEmailFilter implements MessageListener, SubscriptionListener {
+
+    private static final String SELECT_EMAILS = "SELECT email FROM account";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${account.email.filter.enabled}")
+    private boolean enabled;
+
+    @Value("${account.email.filter.channel}")
+    private String channel;
+
+    @Value("${account.email.filter.expected.insertions}")
+    private long expectedInsertions;
+
+    @Value("${account.email.filter.fpp}")
+    private double fpp;
+
+    @Value("${account.email.filter.fetch.size}")
+    private int fetchSize;
+
+    @Value("${account.email.filter.recent.key}")
+    private String recentKey;
+
+    @Value("${account.email.filter.recent.retention.ms}")
+    private long recentRetentionMs;
+
+    // Null until the first build is done
+    private volatile ScalableBloomFilter filter;
+
+    // The filter being rebuilt, so registrations during a rebuild are not lost
+    private volatile ScalableBloomFilter building;
+
+    // When the database scan of the current filter started, in epoch millis
+    private volatile long builtAt;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private Counter absent;
+    private Counter possiblyRegistered;
+
+    /**
+    * A method to register the metrics and subscribe to the
+    * registration channel, before the first build starts.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+
+        if(!enabled) {
+            return;
+        }
+
+        absent = meterRegistry.counter("account.email.filter.lookups", "result", "absent");
+        possiblyRegistered = meterRegistry.counter("account.email.filter.lookups", "result", "possibly.registered");
+
+        Gauge.builder("account.email.filter.entries", this, f -> f.filter != null ? f.filter.size() : 0)
+                .register(meterRegistry);
+
+        Gauge.builder("account.email.filter.memory", this, f -> f.filter != null ? f.filter.memoryBytes() : 0)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder("account.email.filter.fpp", this, f -> f.filter != null ? f.filter.expectedFpp() : 0)
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    /**
+    * A method to check whether an email may belong to an account.
+    *
+    * @param email The email, normalised here.
+    * @return False if no account has the email, true if one probably
+    *         does, always true when disabled or not yet built.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean mightExist(String email) {
+
+        ScalableBloomFilter current = filter;
+        String normalized = AuthServiceUtility.normalizeEmail(email);
+
+        if(!enabled || current == null || normalized == null) {
+            return true;
+        }
+
+        // Registrations since the filter was built may have been missed on the channel
+        if(current.mightContain(normalized)
+                || System.currentTimeMillis() - builtAt > recentRetentionMs
+                || recentlyRegistered(normalized)) {
+            possiblyRegistered.increment();
+            return true;
+        }
+
+        absent.increment();
+
+        return false;
+    }
+
+    /**
+    * A method to check the recent registrations kept in Redis.
+    *
+    * @param normalized The normalised email.
+    * @return True if the email was registered within the retention,
+    *         or if Redis could not be asked.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private boolean recentlyRegistered(String normalized) {
+        try {
+            return stringRedisTemplate.opsForZSet().score(recentKey, normalized) != null;
+        } catch (Exception e) {
+            // Fall back to the database lookup
+            log.warn("Failed to check recent registrations: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+    * A method to add a newly registered email on this node
+    * and broadcast it to every other node.
+    *
+    * @param email The registered email.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void registered(String email) {
+
+        String normalized = AuthServiceUtility.normalizeEmail(email);
+
+        if(!enabled || normalized == null) {
+            return;
+        }
+
+        add(normalized);
+
+        long now = System.currentTimeMillis();
+        byte[] key = toBytes(recentKey);
+
+        try {
+            // Recorded before publishing, so a node that misses the message still finds it
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.zSetCommands().zAdd(key, now, toBytes(normalized));
+                connection.zSetCommands().zRemRangeByScore(key, 0, now - recentRetentionMs);
+                connection.keyCommands().pExpire(key, recentRetentionMs);
+                return null;
+            });
+
+            stringRedisTemplate.convertAndSend(channel, normalized);
+        } catch (Exception e) {
+            // Other nodes learn the email with their next rebuild
+            log.warn("Failed to publish registered email: {}", e.getMessage());
+        }
+    }
+
+    /**
+    * A method to handle registrations published by any node,
+    * including this one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+    * A method to rebuild the filter when the channel is subscribed again
+    * after a reconnect, as messages published meanwhile were lost. The
+    * first subscription is left to the scheduled build.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        if(!subscribed.compareAndSet(false, true)) {
+            log.info("Registered email channel resubscribed, rebuilding the filter");
+            rebuild();
+        }
+    }
+
+    /**
+    * A scheduled method to build the filter from the account table,
+    * right after startup and then periodically, dropping the emails
+    * of deleted accounts.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${account.email.filter.rebuild.interval.ms}")
+    public void rebuild() {
+
+        // Scheduled and reconnect builds never overlap
+        if(!enabled || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+
+        ScalableBloomFilter current = filter;
+        ScalableBloomFilter fresh = new ScalableBloomFilter(Math.max(expectedInsertions, current != null ? current.size() : 0), fpp);
+
+        building = fresh;
+
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+
+            // Streamed in fetch.size rows, PostgreSQL only uses a cursor inside a transaction
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(SELECT_EMAILS);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                String normalized = AuthServiceUtility.normalizeEmail(rs.getString(1));
+
+                if(normalized != null) {
+                    fresh.put(normalized);
+                }
+            }));
+
+            // Published before building is cleared, see add
+            builtAt = startedAt;
+            filter = fresh;
+
+            log.info("Registered email filter holds {} emails in {} bytes", fresh.size(), fresh.memoryBytes());
+        } catch (Exception e) {
+            log.warn("Failed to build registered email filter: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private void add(String normalized) {
+
+        // Read in the reverse order rebuild writes them, so an email is never only added to a discarded filter
+        ScalableBloomFilter pending = building;
+        ScalableBloomFilter current = filter;
+
+        if(pending != null) {
+            pending.put(normalized);
+        }
+
+        if(current != null) {
+            current.put(normalized);
+        }
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
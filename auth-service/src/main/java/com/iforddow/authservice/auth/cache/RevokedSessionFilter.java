@@ -0,0 +1,204 @@
+package com.iforddow.authservice.auth.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+* A node-local filter of recently revoked hashed session IDs, so the
+* dead tokens clients keep replaying after a logout are turned away
+* in-process, without a Redis lookup.
+*
+* Revocations are added on the revoking node and broadcast to every
+* other node through a Redis pub/sub channel. IDs are kept in a rotating
+* Bloom filter for session.revoked.filter.buckets periods of
+* session.revoked.filter.bucket.seconds each, after which lookups of
+* those IDs simply miss in Redis again.
+*
+* A hit is rejected outright. The filter is sized so that a live session
+* is rejected at most at session.revoked.filter.fpp per lookup, and only
+* until its false positive bits rotate out. Once more IDs were revoked
+* than it was sized for, its hits are confirmed on the primary instead.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevokedSessionFilter implements MessageListener {
+
+    private static final String ID_SEPARATOR = ",";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.revoked.filter.enabled}")
+    private boolean enabled;
+
+    @Value("${session.revoked.filter.channel}")
+    private String channel;
+
+    @Value("${session.revoked.filter.buckets}")
+    private int bucketCount;
+
+    @Value("${session.revoked.filter.expected.insertions}")
+    private long expectedInsertions;
+
+    @Value("${session.revoked.filter.fpp}")
+    private double fpp;
+
+    private RotatingBloomFilter filter;
+
+    private Counter hits;
+    private Counter falsePositives;
+
+    /**
+    * A method to build the filter, register its metrics and
+    * subscribe to the revocation channel.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+
+        if(!enabled) {
+            return;
+        }
+
+        filter = new RotatingBloomFilter(bucketCount, expectedInsertions, fpp);
+
+        hits = meterRegistry.counter("session.revoked.filter.hits");
+        falsePositives = meterRegistry.counter("session.revoked.filter.false.positives");
+
+        Gauge.builder("session.revoked.filter.memory", filter, RotatingBloomFilter::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder("session.revoked.filter.fpp", filter, RotatingBloomFilter::expectedFpp)
+                .register(meterRegistry);
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(channel));
+
+        log.info("Revoked session filter holds {} buckets of {} IDs in {} bytes",
+                bucketCount, expectedInsertions, filter.memoryBytes());
+    }
+
+    /**
+    * A method to check whether a session was probably revoked.
+    *
+    * @param hashedSessionId The hashed ID of the session.
+    * @return True on a filter hit, always false when disabled.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean mightBeRevoked(String hashedSessionId) {
+
+        if(!enabled || !filter.mightContain(hashedSessionId)) {
+            return false;
+        }
+
+        hits.increment();
+
+        return true;
+    }
+
+    /**
+    * A method to check whether the filter holds more IDs than it was
+    * sized for, so that its hits can no longer be trusted on their own.
+    *
+    * @return True if the estimated false positive rate exceeds the target.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean overfilled() {
+        return filter.expectedFpp() > fpp;
+    }
+
+    /**
+    * A method to record that a confirmed hit found a live session.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void falsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+    * A method to add revoked sessions on this node and broadcast
+    * them to every other node.
+    *
+    * @param hashedSessionIds The hashed IDs of the revoked sessions.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void revoked(Collection<String> hashedSessionIds) {
+
+        if(!enabled || hashedSessionIds.isEmpty()) {
+            return;
+        }
+
+        hashedSessionIds.forEach(filter::put);
+
+        try {
+            stringRedisTemplate.convertAndSend(channel, String.join(ID_SEPARATOR, hashedSessionIds));
+        } catch (Exception e) {
+            // Other nodes still miss in Redis for these IDs, only the shortcut is lost
+            log.warn("Failed to publish session revocation: {}", e.getMessage());
+        }
+    }
+
+    /**
+    * A method to handle revocations published by any node,
+    * including this one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        for(String hashedSessionId : body.split(ID_SEPARATOR)) {
+            filter.put(hashedSessionId);
+        }
+    }
+
+    /**
+    * A scheduled method to start a new time bucket.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedRateString = "${session.revoked.filter.bucket.seconds}",
+            initialDelayString = "${session.revoked.filter.bucket.seconds}",
+            timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        if(enabled) {
+            filter.rotate();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.iforddow.authservice.auth.cache;
+
+/**
+* A Bloom filter split into time buckets. Inserts go to the newest
+* bucket, lookups check every bucket, and rotate drops the oldest one,
+* so entries are remembered for between (buckets - 1) and buckets
+* rotation periods without ever having to delete from a Bloom filter.
+*
+* Each bucket is sized for the expected insertions per period at the
+* target false positive rate divided by the number of buckets, which
+* keeps the combined rate of a lookup at or under the target. Lookups
+* and inserts are lock free.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class RotatingBloomFilter {
+
+    private final long expectedInsertions;
+    private final double bucketFpp;
+
+    private volatile BloomBits[] buckets;
+
+    /**
+    * A constructor for the filter.
+    *
+    * @param bucketCount The number of time buckets.
+    * @param expectedInsertions The expected number of inserts per bucket.
+    * @param fpp The target false positive rate of a lookup.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public RotatingBloomFilter(int bucketCount, long expectedInsertions, double fpp) {
+
+        if(bucketCount < 1 || expectedInsertions < 1 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter configuration");
+        }
+
+        this.expectedInsertions = expectedInsertions;
+        this.bucketFpp = fpp / bucketCount;
+
+        BloomBits[] initial = new BloomBits[bucketCount];
+
+        for(int i = 0; i < bucketCount; i++) {
+            initial[i] = new BloomBits(expectedInsertions, bucketFpp);
+        }
+
+        buckets = initial;
+    }
+
+    /**
+    * A method to add a value to the newest bucket.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void put(CharSequence value) {
+
+        long h1 = BloomBits.h1(value);
+
+        buckets[0].put(h1, BloomBits.h2(h1));
+    }
+
+    /**
+    * A method to check whether a value may have been added.
+    *
+    * @return False if the value was definitely not added within
+    * the retained buckets, true if it probably was.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean mightContain(CharSequence value) {
+
+        long h1 = BloomBits.h1(value);
+        long h2 = BloomBits.h2(h1);
+
+        for(BloomBits bucket : buckets) {
+            if(bucket.containsAll(h1, h2)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+    * A method to start a new bucket, dropping the oldest one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public synchronized void rotate() {
+
+        BloomBits[] current = buckets;
+        BloomBits[] rotated = new BloomBits[current.length];
+
+        rotated[0] = new BloomBits(expectedInsertions, bucketFpp);
+        System.arraycopy(current, 0, rotated, 1, current.length - 1);
+
+        buckets = rotated;
+    }
+
+    /**
+    * A method to get the memory held by the bit arrays, in bytes.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long memoryBytes() {
+        BloomBits[] current = buckets;
+
+        return current.length * current[0].bits() / 8;
+    }
+
+    /**
+    * A method to estimate the current false positive rate of a lookup
+    * from how full each bucket is. It only exceeds the target once a
+    * bucket takes more than the expected insertions.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public double expectedFpp() {
+
+        double notFalsePositive = 1;
+
+        for(BloomBits bucket : buckets) {
+            notFalsePositive *= 1 - bucket.expectedFpp();
+        }
+
+        return 1 - notFalsePositive;
+    }
+
+    public long expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public int hashFunctions() {
+        return buckets[0].hashFunctions();
+    }
+
+}
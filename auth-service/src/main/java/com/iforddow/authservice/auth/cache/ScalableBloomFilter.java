@@ -0,0 +1,201 @@
+package com.iforddow.authservice.auth.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* A Bloom filter that grows with its contents. It starts with one stage
+* sized for the initial capacity, and each time the newest stage is full
+* a stage of twice the capacity is added. Each new stage gets half the
+* false positive rate of the one before, so the combined rate of a
+* lookup stays under the target however many stages are added.
+*
+* Inserts go to the newest stage, lookups check every stage. Both are
+* lock free, only adding a stage synchronizes.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class ScalableBloomFilter {
+
+    private final double fpp;
+
+    private volatile Stage[] stages;
+
+    /**
+    * A constructor for the filter.
+    *
+    * @param initialCapacity The insertions the first stage is sized for.
+    * @param fpp The target false positive rate of a lookup.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public ScalableBloomFilter(long initialCapacity, double fpp) {
+
+        if(initialCapacity < 1 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Invalid Bloom filter configuration");
+        }
+
+        this.fpp = fpp;
+
+        // Rates of fpp / 2, fpp / 4, ... sum to at most fpp
+        this.stages = new Stage[] { new Stage(initialCapacity, fpp / 2) };
+    }
+
+    /**
+    * A method to add a value.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void put(CharSequence value) {
+
+        long h1 = BloomBits.h1(value);
+        long h2 = BloomBits.h2(h1);
+
+        Stage[] current = stages;
+        Stage stage = current[current.length - 1];
+
+        if(stage.insertions.get() >= stage.capacity) {
+            stage = grow(stage);
+        }
+
+        stage.put(h1, h2);
+    }
+
+    /**
+    * A method to check whether a value may have been added.
+    *
+    * @return False if the value was definitely not added, true if it probably was.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean mightContain(CharSequence value) {
+
+        long h1 = BloomBits.h1(value);
+        long h2 = BloomBits.h2(h1);
+
+        for(Stage stage : stages) {
+            if(stage.bits.containsAll(h1, h2)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+    * A method to get the number of values added.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long size() {
+
+        long size = 0;
+
+        for(Stage stage : stages) {
+            size += stage.insertions.get();
+        }
+
+        return size;
+    }
+
+    /**
+    * A method to get the number of stages.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public int stageCount() {
+        return stages.length;
+    }
+
+    /**
+    * A method to get the memory held by the bit arrays, in bytes.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long memoryBytes() {
+
+        long bytes = 0;
+
+        for(Stage stage : stages) {
+            bytes += stage.bits.bits() / 8;
+        }
+
+        return bytes;
+    }
+
+    /**
+    * A method to estimate the current false positive rate of a lookup
+    * from how full each stage is.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public double expectedFpp() {
+
+        double notFalsePositive = 1;
+
+        for(Stage stage : stages) {
+            notFalsePositive *= 1 - stage.bits.expectedFpp();
+        }
+
+        return 1 - notFalsePositive;
+    }
+
+    public double fpp() {
+        return fpp;
+    }
+
+    private synchronized Stage grow(Stage full) {
+
+        Stage[] current = stages;
+        Stage newest = current[current.length - 1];
+
+        // Another thread already added a stage
+        if(newest != full) {
+            return newest;
+        }
+
+        Stage added = new Stage(full.capacity * 2, full.fpp / 2);
+
+        Stage[] grown = Arrays.copyOf(current, current.length + 1);
+        grown[current.length] = added;
+
+        stages = grown;
+
+        return added;
+    }
+
+    /**
+    * A bit array with the capacity and false positive rate it was sized for.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private static final class Stage {
+
+        private final long capacity;
+        private final double fpp;
+        private final BloomBits bits;
+        private final AtomicLong insertions = new AtomicLong();
+
+        private Stage(long capacity, double fpp) {
+            this.capacity = capacity;
+            this.fpp = fpp;
+            this.bits = new BloomBits(capacity, fpp);
+        }
+
+        private void put(long h1, long h2) {
+            bits.put(h1, h2);
+            insertions.incrementAndGet();
+        }
+
+    }
+
+}
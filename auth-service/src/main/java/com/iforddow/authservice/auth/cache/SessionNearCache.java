@@ -0,0 +1,232 @@
+package com.iforddow.authservice.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+* A node-local cache in front of Redis session lookups, keyed by the
+* hashed session ID. Entries live for a short, bounded time and are
+* evicted on every node through a Redis pub/sub channel whenever a
+* session is revoked, so a deleted session stops validating everywhere.
+*
+* A lookup that loads a session while its invalidation arrives must not
+* put the revoked session back. Every invalidation bumps a generation
+* counter of the ID, striped so its memory is fixed, and a load only
+* caches what it read if the generation it started with is unchanged.
+* Two IDs sharing a stripe only ever cost a skipped put.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionNearCache implements MessageListener {
+
+    private static final String ID_SEPARATOR = ",";
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.near.cache.enabled}")
+    private boolean enabled;
+
+    @Value("${session.near.cache.max.size}")
+    private long maxSize;
+
+    @Value("${session.near.cache.ttl.seconds}")
+    private long ttlSeconds;
+
+    @Value("${session.near.cache.invalidation.channel}")
+    private String invalidationChannel;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private Cache<String, Session> cache;
+    private Counter invalidations;
+
+    /**
+    * A method to build the cache, register its metrics and
+    * subscribe to the invalidation channel.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+
+        if(!enabled) {
+            return;
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "session.near.cache");
+        invalidations = meterRegistry.counter("session.near.cache.invalidations");
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+    }
+
+    /**
+    * A method to get a cached session by its hashed ID.
+    *
+    * @param hashedSessionId The hashed ID of the session.
+    * @return The cached session, or null on a miss or when disabled.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public Session get(String hashedSessionId) {
+
+        if(!enabled) {
+            return null;
+        }
+
+        Session session = cache.getIfPresent(hashedSessionId);
+
+        // Never serve a session past its hard expiration, even if the entry is still fresh
+        if(session != null && session.getHardExpiration().isBefore(Instant.now())) {
+            cache.invalidate(hashedSessionId);
+            return null;
+        }
+
+        return session;
+    }
+
+    /**
+    * A method to cache a session that was just created. The session ID
+    * must already be hashed.
+    *
+    * @param session The session to be cached.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void put(Session session) {
+        if(enabled) {
+            cache.put(session.getSessionId(), session);
+        }
+    }
+
+    /**
+    * A method to get the invalidation generation of a session ID, to be
+    * read before the session is loaded from Redis.
+    *
+    * @param hashedSessionId The hashed ID of the session.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long generation(String hashedSessionId) {
+        return generations.get(stripe(hashedSessionId));
+    }
+
+    /**
+    * A method to cache a session loaded from Redis, unless it was
+    * invalidated since the load started.
+    *
+    * @param session The session to be cached.
+    * @param generation The generation read before the load.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void put(Session session, long generation) {
+
+        if(!enabled) {
+            return;
+        }
+
+        int stripe = stripe(session.getSessionId());
+
+        if(generations.get(stripe) != generation) {
+            return;
+        }
+
+        cache.put(session.getSessionId(), session);
+
+        // An invalidation between the check and the put found nothing to evict
+        if(generations.get(stripe) != generation) {
+            cache.invalidate(session.getSessionId());
+        }
+    }
+
+    /**
+    * A method to evict sessions from this node and broadcast the
+    * eviction to every other node.
+    *
+    * @param hashedSessionIds The hashed IDs of the revoked sessions.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void invalidate(Collection<String> hashedSessionIds) {
+
+        if(!enabled || hashedSessionIds.isEmpty()) {
+            return;
+        }
+
+        for(String hashedSessionId : hashedSessionIds) {
+            generations.incrementAndGet(stripe(hashedSessionId));
+        }
+
+        cache.invalidateAll(hashedSessionIds);
+
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, String.join(ID_SEPARATOR, hashedSessionIds));
+        } catch (Exception e) {
+            // Other nodes still drop the entry once its TTL runs out
+            log.warn("Failed to publish session invalidation: {}", e.getMessage());
+        }
+    }
+
+    /**
+    * A method to handle invalidations published by any node,
+    * including this one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        for(String hashedSessionId : body.split(ID_SEPARATOR)) {
+            generations.incrementAndGet(stripe(hashedSessionId));
+            cache.invalidate(hashedSessionId);
+            invalidations.increment();
+        }
+    }
+
+    private static int stripe(String hashedSessionId) {
+        return hashedSessionId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.iforddow.authservice.auth.cache;
+
+import com.iforddow.authservice.auth.factory.SessionFactory;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+* An in-process buffer that throttles and coalesces sliding expiry
+* refreshes. A session is only queued for a refresh once its remaining
+* TTL drops below the configured share of session.ttl.seconds, and any
+* number of touches of the same session between flushes collapse into
+* a single write.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Component
+@RequiredArgsConstructor
+public class SessionTouchBuffer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.touch.enabled}")
+    private boolean enabled;
+
+    @Value("${session.ttl.seconds}")
+    private long sessionTtlSeconds;
+
+    @Value("${session.touch.threshold.ratio}")
+    private double thresholdRatio;
+
+    @Value("${session.touch.max.pending}")
+    private int maxPending;
+
+    private final Map<String, Session> pending = new ConcurrentHashMap<>();
+
+    private Duration threshold;
+    private Counter skipped;
+    private Counter coalesced;
+    private Counter dropped;
+
+    /**
+    * A method to compute the touch threshold and register metrics.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+        threshold = Duration.ofSeconds((long) (sessionTtlSeconds * thresholdRatio));
+
+        skipped = meterRegistry.counter("session.touch", "result", "skipped");
+        coalesced = meterRegistry.counter("session.touch", "result", "coalesced");
+        dropped = meterRegistry.counter("session.touch", "result", "dropped");
+        meterRegistry.gaugeMapSize("session.touch.pending", List.of(), pending);
+    }
+
+    /**
+    * A method to record that a session was used. Queues a refresh
+    * only if the remaining TTL is below the threshold.
+    *
+    * @param session The stored session (hashed ID) that was validated.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void touch(Session session) {
+
+        if(!enabled) {
+            return;
+        }
+
+        Instant now = Instant.now();
+
+        // Expired sessions are rejected by validation, fresh ones do not need a write yet
+        if(session.getExpiresAt().isBefore(now) || Duration.between(now, session.getExpiresAt()).compareTo(threshold) >= 0) {
+            skipped.increment();
+            return;
+        }
+
+        // If the buffer is full the touch is simply dropped, the next request will retry it
+        if(pending.size() >= maxPending && !pending.containsKey(session.getSessionId())) {
+            dropped.increment();
+            return;
+        }
+
+        Session refreshed = SessionFactory.refreshSession(session, Duration.ofSeconds(sessionTtlSeconds));
+
+        if(pending.put(session.getSessionId(), refreshed) != null) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+    * A method to take every pending refresh out of the buffer.
+    *
+    * @return The refreshed sessions to be written.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public List<Session> drain() {
+
+        List<Session> drained = new ArrayList<>(pending.size());
+
+        for(String hashedSessionId : pending.keySet()) {
+            Session session = pending.remove(hashedSessionId);
+
+            if(session != null) {
+                drained.add(session);
+            }
+        }
+
+        return drained;
+    }
+
+}
@@ -2,6 +2,8 @@ package com.iforddow.authservice.auth.controller;
 
 import com.iforddow.authservice.auth.request.VerifyEmailRequest;
 import com.iforddow.authservice.auth.service.EmailVerificationService;
+import com.iforddow.authservice.common.ratelimit.RateLimit;
+import com.iforddow.authservice.common.ratelimit.RateLimitKey;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +30,10 @@ public class EmailVerificationController {
     * @since 2025-12-04
     * */
     @PostMapping("/send-verification")
+    @RateLimit(name = "email:verification", key = RateLimitKey.EMAIL,
+            limit = "${auth.max.email.verification.code.requests.per.hour}", period = "${redis.email.verification.code.ttl.attempts.seconds}")
+    @RateLimit(name = "email:verification", key = RateLimitKey.IP,
+            limit = "${auth.max.email.verification.code.requests.per.hour.per.ip}", period = "${redis.email.verification.code.ttl.attempts.seconds}")
     public ResponseEntity<?> sendVerificationEmail(@RequestParam String email) {
         emailVerificationService.sendVerificationEmail(email);
         return ResponseEntity.ok().build();
@@ -3,6 +3,8 @@ package com.iforddow.authservice.auth.controller;
 import com.iforddow.authservice.auth.request.ChangePasswordRequest;
 import com.iforddow.authservice.auth.request.ResetPasswordRequest;
 import com.iforddow.authservice.auth.service.PasswordService;
+import com.iforddow.authservice.common.ratelimit.RateLimit;
+import com.iforddow.authservice.common.ratelimit.RateLimitKey;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -38,6 +40,10 @@ public class PasswordController {
      * @since 2025-12-03
      * */
     @PostMapping("/init-reset-password")
+    @RateLimit(name = "password:reset", key = RateLimitKey.EMAIL,
+            limit = "${auth.max.password.reset.requests.per.hour}", period = "${redis.password.reset.code.ttl.attempts.seconds}")
+    @RateLimit(name = "password:reset", key = RateLimitKey.IP,
+            limit = "${auth.max.password.reset.requests.per.hour.per.ip}", period = "${redis.password.reset.code.ttl.attempts.seconds}")
     public ResponseEntity<?> initiatePasswordReset(@RequestParam String email) {
 
         passwordService.initiatePasswordReset(email);
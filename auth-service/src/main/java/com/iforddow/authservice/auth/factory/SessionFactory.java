@@ -1,8 +1,10 @@
 package com.iforddow.authservice.auth.factory;
 
 import com.iforddow.authservice.auth.entity.jpa.Account;
-import com.iforddow.authservice.auth.repository.redis.SessionRepositoryImpl;
+import com.iforddow.authservice.auth.repository.redis.SessionKeyResolver;
+import com.iforddow.authservice.auth.repository.AccountSessionRepository;
 import com.iforddow.authservice.common.exception.BadRequestException;
+import com.iforddow.authservice.common.utility.SecureTokenGenerator;
 import com.iforddow.authsession.entity.Session;
 import com.iforddow.authsession.utility.FilterUtility;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,12 +12,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Base64;
-import java.util.Comparator;
-import java.util.List;
 import java.util.UUID;
 
 @Component
@@ -28,30 +26,30 @@ public class SessionFactory {
     @Value("${session.hard.expiry.seconds}")
     private long sessionHardExpirySeconds;
 
-    @Value("${auth.max.sessions}")
-    private int maxSessions;
-
-    private final SessionRepositoryImpl sessionRepository;
+    private final AccountSessionRepository sessionRepository;
     private final FilterUtility filterUtility;
+    private final SessionKeyResolver sessionKeyResolver;
+    private final SecureTokenGenerator secureTokenGenerator;
 
     /**
-     * A static factory method to create a new Session instance.
+     * A static factory method to create a new Session instance
+     * with a given session ID.
      *
+     * @param sessionId The raw (unhashed) ID of the session.
      * @param accountId The ID of the account associated with the session.
      * @param ip The IP address from which the session was created.
      * @param userAgent The user agent string of the client.
+     * @param now The creation time, the expirations are counted from it.
      * @param ttl The time-to-live duration for the session.
      * @param hardExpiration The hard expiration duration for the session.
      *
      * @author IFD
-     * @since 2025-11-09
+     * @since 2026-10-17
      * */
-    public static Session newSession(UUID accountId, String ip, String userAgent, Duration ttl, Duration hardExpiration) {
-
-        Instant now = Instant.now();
+    public static Session newSession(String sessionId, UUID accountId, String ip, String userAgent, Instant now, Duration ttl, Duration hardExpiration) {
 
         return Session.builder()
-                .sessionId(generateSessionId())
+                .sessionId(sessionId)
                 .accountId(accountId)
                 .createdAt(now)
                 .ip(ip)
@@ -64,7 +62,8 @@ public class SessionFactory {
 
     /**
      * A static method to refresh an existing session.
-     * It updates the expiration time based on the provided TTL.
+     * It updates the expiration time based on the provided TTL,
+     * never past the hard expiration of the session.
      *
      * @param oldSession The existing session to be refreshed.
      * @param ttl The new time-to-live duration for the session.
@@ -76,38 +75,24 @@ public class SessionFactory {
 
         Instant now = Instant.now();
 
+        Instant expiresAt = now.plus(ttl);
+
+        if(expiresAt.isAfter(oldSession.getHardExpiration())) {
+            expiresAt = oldSession.getHardExpiration();
+        }
+
         return Session.builder()
                 .sessionId(oldSession.getSessionId())
                 .accountId(oldSession.getAccountId())
                 .createdAt(oldSession.getCreatedAt())
                 .ip(oldSession.getIp())
                 .userAgent(oldSession.getUserAgent())
-                .expiresAt(now.plus(ttl))
+                .expiresAt(expiresAt)
                 .hardExpiration(oldSession.getHardExpiration())
                 .build();
 
     }
 
-    /**
-     * A method to generate a secure random session ID.
-     *
-     * @return A securely generated random session ID as a URL-safe Base64 string.
-     *
-     * @author IFD
-     * @since 2025-11-17
-     * */
-    public static String generateSessionId() {
-
-        SecureRandom random = new SecureRandom();
-
-        byte[] bytes = new byte[32];
-
-        random.nextBytes(bytes);
-
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
-
-    }
-
     /**
      * A method to create a session for the account
      * upon logging in and session refresh.
@@ -123,28 +108,21 @@ public class SessionFactory {
             throw new BadRequestException("Cannot create session when one already exists");
         }
 
-        // Enforce maximum sessions per account
-        List<Session> activeSessions = sessionRepository.findAllByAccountId(account.getId());
-
-        // If over the limit, delete the oldest sessions
-        while (activeSessions.size() > maxSessions && maxSessions != -1) {
-            // Find the oldest session
-            Session oldestSession = activeSessions.stream()
-                    .min(Comparator.comparing(Session::getCreatedAt))
-                    .orElseThrow(() -> new BadRequestException("Unable to enforce session limit"));
-
-            // Delete the oldest session
-            sessionRepository.delete(oldestSession.getSessionId());
-        }
-
         // Get information required for the session
         String ipAddress = request.getRemoteAddr();
         String userAgent = request.getHeader("User-Agent");
         Duration ttl = Duration.ofSeconds(sessionTtlSeconds);
         Duration hardExpiry = Duration.ofSeconds(sessionHardExpirySeconds);
 
-        // Create and save the new session
-        Session session = newSession(account.getId(), ipAddress, userAgent, ttl, hardExpiry);
+        // One clock read, so the hard expiration signed into the ID is the one stored
+        Instant now = Instant.now();
+
+        // The session ID carries the account ID when Redis hash tags or signed IDs are in use
+        String newSessionId = sessionKeyResolver.newSessionId(account.getId(), secureTokenGenerator.sessionId(), now.plus(hardExpiry));
+
+        // Create and save the new session, the oldest sessions beyond
+        // auth.max.sessions are evicted atomically by the repository
+        Session session = newSession(newSessionId, account.getId(), ipAddress, userAgent, now, ttl, hardExpiry);
 
         sessionRepository.save(session);
 
@@ -0,0 +1,54 @@
+package com.iforddow.authservice.auth.repository;
+
+import com.iforddow.authsession.entity.Session;
+import com.iforddow.authsession.repository.SessionRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+* An extension of the SessionRepository interface, provided via the
+* Session dependency package, with the account level operations this
+* service needs. Implemented by the Redis and the in-process session
+* stores, selected with session.store.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public interface AccountSessionRepository extends SessionRepository {
+
+    /**
+    * A method to get all sessions for an account.
+    *
+    * @param accountId The ID of the account whose sessions are to be retrieved.
+    * @return The stored sessions (hashed IDs) of the account.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    List<Session> findAllByAccountId(UUID accountId);
+
+    /**
+    * A method to slide the expiry of a stored session. A session
+    * revoked in the meantime is not recreated.
+    *
+    * @param session The stored session (hashed ID) with its new expiresAt.
+    * @return true if the session was refreshed, false if it no longer exists.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    boolean refresh(Session session);
+
+    /**
+    * A method to revoke every session of an account.
+    *
+    * @param accountId The ID of the account whose sessions are to be revoked.
+    * @return The number of sessions that were revoked.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    int revokeAllByAccountId(UUID accountId);
+
+}
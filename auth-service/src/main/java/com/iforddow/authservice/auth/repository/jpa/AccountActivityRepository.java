@@ -0,0 +1,119 @@
+package com.iforddow.authservice.auth.repository.jpa;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+* A repository to write the account activity collected by the
+* AccountActivityBuffer to Account.lastActive, as one UPDATE per batch
+* of accounts instead of one per request.
+*
+* Plain JDBC is used so a whole batch is a single statement joined
+* against a VALUES list, which JPA cannot express.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class AccountActivityRepository {
+
+    private static final String UPDATE_PREFIX =
+            "UPDATE account AS a SET last_active = v.last_active FROM (VALUES ";
+
+    // Activity never moves last_active backwards, e.g. when flushes of two nodes interleave
+    private static final String UPDATE_SUFFIX =
+            ") AS v(id, last_active) WHERE a.id = v.id AND a.last_active < v.last_active";
+
+    private static final String ROW = "(CAST(? AS uuid), CAST(? AS timestamptz))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountActivityBuffer accountActivityBuffer;
+
+    @Value("${account.activity.batch.size}")
+    private int batchSize;
+
+    /**
+    * A scheduled method to write the buffered activity, and a final
+    * time on shutdown so no activity is lost on a graceful stop.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${account.activity.flush.interval.ms}")
+    @PreDestroy
+    public void flush() {
+
+        Map<UUID, Long> activity = accountActivityBuffer.drain();
+
+        if(activity.isEmpty()) {
+            return;
+        }
+
+        try {
+            updateLastActive(activity);
+        } catch (Exception e) {
+            accountActivityBuffer.requeue(activity);
+            log.warn("Failed to flush activity of {} accounts: {}", activity.size(), e.getMessage());
+        }
+    }
+
+    /**
+    * A method to set the last activity of many accounts, one
+    * statement per batch.size accounts.
+    *
+    * @param activity The latest activity time per account, in epoch millis.
+    * @return The number of accounts updated.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public int updateLastActive(Map<UUID, Long> activity) {
+
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(activity.entrySet());
+        int updated = 0;
+
+        for(int from = 0; from < entries.size(); from += batchSize) {
+
+            List<Map.Entry<UUID, Long>> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+
+            StringBuilder sql = new StringBuilder(UPDATE_PREFIX.length() + UPDATE_SUFFIX.length() + batch.size() * (ROW.length() + 1));
+            Object[] args = new Object[batch.size() * 2];
+
+            sql.append(UPDATE_PREFIX);
+
+            for(int i = 0; i < batch.size(); i++) {
+                if(i > 0) {
+                    sql.append(',');
+                }
+
+                sql.append(ROW);
+
+                args[i * 2] = batch.get(i).getKey();
+                args[i * 2 + 1] = OffsetDateTime.ofInstant(Instant.ofEpochMilli(batch.get(i).getValue()), ZoneOffset.UTC);
+            }
+
+            sql.append(UPDATE_SUFFIX);
+
+            updated += jdbcTemplate.update(sql.toString(), args);
+        }
+
+        return updated;
+    }
+
+}
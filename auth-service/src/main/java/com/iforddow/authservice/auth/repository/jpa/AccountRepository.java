@@ -2,7 +2,12 @@ package com.iforddow.authservice.auth.repository.jpa;
 
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +23,29 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
 
     Optional<Account> findAccountByEmail(String email);
 
+    /**
+    * A method to replace a password hash, only if it was not
+    * changed in the meantime.
+    *
+    * @return The number of accounts updated, 0 if the hash had changed.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Account a SET a.password = :newHash WHERE a.id = :id AND a.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    /**
+    * A method to count accounts per password hash version prefix.
+    *
+    * @return Pairs of version (null for unprefixed hashes) and count.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Query(value = "SELECT substring(password from '^\\{([^}]+)\\}') AS version, count(*) AS accounts FROM account GROUP BY 1", nativeQuery = true)
+    List<Object[]> countByPasswordVersion();
+
 }
@@ -0,0 +1,459 @@
+package com.iforddow.authservice.auth.repository.memory;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import com.iforddow.authservice.auth.factory.SessionFactory;
+import com.iforddow.authservice.auth.repository.AccountSessionRepository;
+import com.iforddow.authservice.auth.repository.redis.SessionRedisSerializer;
+import com.iforddow.authservice.common.exception.ResourceNotFoundException;
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.entity.Session;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+* An in-process implementation of the SessionRepository interface for
+* single node and edge deployments, and as a stand-in for Redis in tests.
+* Selected with session.store=memory.
+*
+* Sessions are kept in a concurrent map keyed by the hashed session ID,
+* with a per-account index, and expire through a hierarchical timing
+* wheel. When session.memory.snapshot.path is set, sessions are written
+* to that file periodically and on shutdown, and read back on startup.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "session.store", havingValue = "memory")
+public class InMemorySessionRepository implements AccountSessionRepository {
+
+    private final HashUtility hashUtility;
+    private final ObjectMapper objectMapper;
+    private final AccountActivityBuffer accountActivityBuffer;
+
+    @Value("${session.ttl.seconds}")
+    private long sessionTtlSeconds;
+
+    @Value("${session.touch.threshold.ratio}")
+    private double thresholdRatio;
+
+    @Value("${auth.max.sessions}")
+    private int maxSessions;
+
+    @Value("${session.memory.snapshot.path}")
+    private String snapshotPath;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> accountSessions = new ConcurrentHashMap<>();
+
+    private TimingWheel timingWheel;
+    private SessionRedisSerializer serializer;
+
+    /**
+    * A method to start the timing wheel and restore the last
+    * snapshot, if any.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+        timingWheel = new TimingWheel(Instant.now().getEpochSecond());
+        serializer = new SessionRedisSerializer(objectMapper);
+
+        if(isSnapshotEnabled()) {
+            restore();
+        }
+    }
+
+    /**
+    * A method to find a session by its ID, sliding its expiry once
+    * less than the configured share of the TTL remains.
+    *
+    * @param sessionId The ID of the session to be retrieved.
+    * @return The session object if found, otherwise null.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public Session findById(String sessionId) {
+
+        Session session = live(hashUtility.hmacSha256(sessionId));
+
+        if(session == null) {
+            return null;
+        }
+
+        accountActivityBuffer.record(session.getAccountId());
+
+        Duration remaining = Duration.between(Instant.now(), session.getExpiresAt());
+
+        // A write is cheap here, but keep the same threshold as the Redis store
+        if(remaining.getSeconds() < sessionTtlSeconds * thresholdRatio) {
+            refresh(SessionFactory.refreshSession(session, Duration.ofSeconds(sessionTtlSeconds)));
+        }
+
+        return session;
+    }
+
+    /**
+    * A method to save a session, evicting the oldest sessions of the
+    * account beyond auth.max.sessions.
+    *
+    * @param session The session object to be saved, with its raw ID.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void save(Session session) {
+
+        Session newSession = new Session(
+                hashUtility.hmacSha256(session.getSessionId()),
+                session.getAccountId(),
+                session.getCreatedAt(),
+                session.getIp(),
+                session.getUserAgent(),
+                session.getExpiresAt(),
+                session.getHardExpiration()
+        );
+
+        store(newSession);
+    }
+
+    @Override
+    public boolean refresh(Session session) {
+
+        // Only replace a session that still exists, never resurrect a revoked one
+        boolean refreshed = sessions.computeIfPresent(session.getSessionId(), (id, current) -> session) != null;
+
+        if(refreshed) {
+            timingWheel.schedule(session.getSessionId(), deadline(session));
+        }
+
+        return refreshed;
+    }
+
+    /**
+    * A method to check if a session exists by its hashed ID.
+    *
+    * @param sessionId The hashed ID of the session to be checked.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public boolean exists(String sessionId) {
+        return live(sessionId) != null;
+    }
+
+    @Override
+    public List<Session> findAllByAccountId(UUID accountId) {
+
+        Set<String> ids = accountSessions.getOrDefault(accountId, Set.of());
+
+        List<Session> found = new ArrayList<>(ids.size());
+
+        for(String id : ids) {
+            Session session = live(id);
+
+            if(session != null) {
+                found.add(session);
+            }
+        }
+
+        return found;
+    }
+
+    @Override
+    public void delete(String sessionId) {
+
+        Session session = sessions.get(hashUtility.hmacSha256(sessionId));
+
+        if(session == null) {
+            throw new ResourceNotFoundException("Session not found");
+        }
+
+        delete(session);
+    }
+
+    @Override
+    public void delete(Session session) {
+        remove(session.getSessionId());
+    }
+
+    @Override
+    public void deleteAllByAccountId(UUID accountId) {
+        revokeAllByAccountId(accountId);
+    }
+
+    @Override
+    public int revokeAllByAccountId(UUID accountId) {
+
+        Set<String> ids = accountSessions.remove(accountId);
+
+        if(ids == null) {
+            return 0;
+        }
+
+        int revoked = 0;
+
+        for(String id : ids) {
+            if(sessions.remove(id) != null) {
+                revoked++;
+            }
+        }
+
+        return revoked;
+    }
+
+    /**
+    * A scheduled method to advance the timing wheel and drop the
+    * sessions that expired since the last tick.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedRateString = "${session.memory.expiry.interval.ms}")
+    public void expire() {
+        expireDue(Instant.now().getEpochSecond());
+    }
+
+    /**
+    * A method to advance the timing wheel up to a point in time.
+    *
+    * @param now The current time in epoch seconds.
+    * @return The number of sessions that expired.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public int expireDue(long now) {
+
+        int expired = 0;
+
+        for(String id : timingWheel.advance(now)) {
+
+            Session session = sessions.get(id);
+
+            if(session == null) {
+                continue;
+            }
+
+            long deadline = deadline(session);
+
+            // Timers are never cancelled, a refreshed session is simply rescheduled
+            if(deadline > now) {
+                timingWheel.schedule(id, deadline);
+            } else {
+                remove(id);
+                expired++;
+            }
+        }
+
+        return expired;
+    }
+
+    /**
+    * A scheduled method to write a snapshot of every live session.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${session.memory.snapshot.interval.ms}")
+    @PreDestroy
+    public void snapshot() {
+
+        if(!isSnapshotEnabled()) {
+            return;
+        }
+
+        Path path = Path.of(snapshotPath);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+
+            if(parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                for(Session session : sessions.values()) {
+                    byte[] bytes = serializer.serialize(session);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+
+            // Replace the previous snapshot only once the new one is complete
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            log.warn("Failed to write session snapshot to {}: {}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+    * A method to read the last snapshot back, skipping sessions
+    * that expired while the node was down.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private void restore() {
+
+        Path path = Path.of(snapshotPath);
+
+        if(!Files.exists(path)) {
+            return;
+        }
+
+        int restored = 0;
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while(true) {
+                int length;
+
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+
+                Session session = serializer.deserialize(bytes);
+
+                if(session != null && deadline(session) > Instant.now().getEpochSecond()) {
+                    store(session);
+                    restored++;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // A truncated snapshot still restores everything before the damage
+            log.warn("Failed to fully read session snapshot {}: {}", snapshotPath, e.getMessage());
+        }
+
+        log.info("Restored {} sessions from {}", restored, snapshotPath);
+    }
+
+    /**
+    * A method to store a session under its hashed ID and index it,
+    * evicting the oldest sessions of the account beyond the limit.
+    *
+    * @param session The session (hashed ID) to be stored.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private void store(Session session) {
+
+        sessions.put(session.getSessionId(), session);
+        timingWheel.schedule(session.getSessionId(), deadline(session));
+
+        // compute is atomic per account, so concurrent logins cannot overshoot the limit
+        accountSessions.compute(session.getAccountId(), (accountId, ids) -> {
+
+            Set<String> index = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            index.add(session.getSessionId());
+
+            // Drop IDs that already expired, then the oldest sessions beyond the limit
+            index.removeIf(id -> !sessions.containsKey(id));
+
+            while(maxSessions >= 0 && index.size() > maxSessions) {
+                String oldest = index.stream()
+                        .min(Comparator.comparing(this::createdAt))
+                        .orElseThrow();
+
+                index.remove(oldest);
+                sessions.remove(oldest);
+            }
+
+            return index;
+        });
+    }
+
+    /**
+    * A method to get a session that has not expired yet. Expired
+    * sessions are dropped on read, ahead of the timing wheel.
+    *
+    * @param hashedSessionId The hashed ID of the session.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private Session live(String hashedSessionId) {
+
+        Session session = sessions.get(hashedSessionId);
+
+        if(session != null && deadline(session) <= Instant.now().getEpochSecond()) {
+            remove(hashedSessionId);
+            return null;
+        }
+
+        return session;
+    }
+
+    private void remove(String hashedSessionId) {
+
+        Session session = sessions.remove(hashedSessionId);
+
+        if(session == null) {
+            return;
+        }
+
+        accountSessions.computeIfPresent(session.getAccountId(), (accountId, ids) -> {
+            ids.remove(hashedSessionId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private Instant createdAt(String hashedSessionId) {
+        Session session = sessions.get(hashedSessionId);
+
+        // A session removed concurrently ranks oldest so its ID goes first
+        return session != null ? session.getCreatedAt() : Instant.MIN;
+    }
+
+    private static long deadline(Session session) {
+        return session.getExpiresAt().isBefore(session.getHardExpiration())
+                ? session.getExpiresAt().getEpochSecond()
+                : session.getHardExpiration().getEpochSecond();
+    }
+
+    private boolean isSnapshotEnabled() {
+        return snapshotPath != null && !snapshotPath.isBlank();
+    }
+
+}
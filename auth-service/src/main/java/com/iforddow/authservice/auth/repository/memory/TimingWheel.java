@@ -0,0 +1,141 @@
+package com.iforddow.authservice.auth.repository.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* A hierarchical timing wheel with a one second tick. Four levels of 64
+* slots cover about 194 days, so scheduling and expiring are O(1) no
+* matter how many timers are pending. Timers further out than the top
+* level are parked in it and re-placed every time it cascades.
+*
+* Timers cannot be cancelled, the owner is expected to check whether a
+* fired key is really due and reschedule it otherwise.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class TimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private record Timer(String key, long deadline) {}
+
+    private final List<List<Timer>> slots = new ArrayList<>(LEVELS * SLOTS);
+
+    private long currentTick;
+    private int size;
+
+    /**
+    * A constructor for the timing wheel.
+    *
+    * @param startTick The current time in epoch seconds.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+
+        for(int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    /**
+    * A method to schedule a key to fire at a deadline. A deadline that
+    * already passed fires on the next tick.
+    *
+    * @param key The key to be returned once due.
+    * @param deadline The deadline in epoch seconds.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public synchronized void schedule(String key, long deadline) {
+        place(new Timer(key, deadline), currentTick + 1);
+        size++;
+    }
+
+    /**
+    * A method to advance the wheel up to a point in time.
+    *
+    * @param now The current time in epoch seconds.
+    * @return The keys whose deadline passed.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public synchronized List<String> advance(long now) {
+
+        List<String> due = new ArrayList<>();
+
+        while(currentTick < now) {
+            currentTick++;
+
+            // Move timers of higher levels down as their slot comes round
+            for(int level = 1; level < LEVELS; level++) {
+                if((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                    break;
+                }
+
+                List<Timer> slot = slot(level, currentTick);
+                List<Timer> cascading = new ArrayList<>(slot);
+                slot.clear();
+                // A timer due on this very tick lands in the level 0 slot handled below
+                cascading.forEach(timer -> place(timer, currentTick));
+            }
+
+            List<Timer> slot = slot(0, currentTick);
+
+            for(Timer timer : slot) {
+                due.add(timer.key());
+            }
+
+            size -= slot.size();
+            slot.clear();
+        }
+
+        return due;
+    }
+
+    /**
+    * A method to get the number of pending timers.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timer timer, long earliestTick) {
+
+        // Placement uses the absolute deadline bits, overdue timers go to the earliest tick
+        long target = Math.max(timer.deadline(), earliestTick);
+        long delta = target - currentTick;
+
+        if(delta >= MAX_SPAN) {
+            target = currentTick + MAX_SPAN - 1;
+            delta = MAX_SPAN - 1;
+        }
+
+        int level = 0;
+
+        while(level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+
+        slot(level, target).add(timer);
+    }
+
+    private List<Timer> slot(int level, long tick) {
+        int index = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        return slots.get(level * SLOTS + index);
+    }
+
+}
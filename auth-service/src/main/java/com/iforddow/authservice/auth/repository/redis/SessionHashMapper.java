@@ -0,0 +1,126 @@
+package com.iforddow.authservice.auth.repository.redis;
+
+import com.iforddow.authsession.entity.Session;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+* A utility class to map a Session to and from the fields of a Redis hash.
+* Instants are stored as epoch seconds, null fields are simply omitted.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class SessionHashMapper {
+
+    public static final String SESSION_ID = "sessionId";
+    public static final String ACCOUNT_ID = "accountId";
+    public static final String CREATED_AT = "createdAt";
+    public static final String IP = "ip";
+    public static final String USER_AGENT = "userAgent";
+    public static final String EXPIRES_AT = "expiresAt";
+    public static final String HARD_EXPIRATION = "hardExpiration";
+
+    // Field order of HMGET reads, see fromValues
+    public static final List<String> FIELDS = List.of(SESSION_ID, ACCOUNT_ID, CREATED_AT, IP, USER_AGENT, EXPIRES_AT, HARD_EXPIRATION);
+
+    /**
+    * A method to flatten a session into alternating field/value
+    * pairs, ready to be passed to HSET.
+    *
+    * @param session The session to be flattened.
+    * @return The field/value pairs.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static List<String> toFieldValues(Session session) {
+
+        List<String> fieldValues = new ArrayList<>(14);
+
+        add(fieldValues, SESSION_ID, session.getSessionId());
+        add(fieldValues, ACCOUNT_ID, session.getAccountId() != null ? session.getAccountId().toString() : null);
+        add(fieldValues, CREATED_AT, epochSeconds(session.getCreatedAt()));
+        add(fieldValues, IP, session.getIp());
+        add(fieldValues, USER_AGENT, session.getUserAgent());
+        add(fieldValues, EXPIRES_AT, epochSeconds(session.getExpiresAt()));
+        add(fieldValues, HARD_EXPIRATION, epochSeconds(session.getHardExpiration()));
+
+        return fieldValues;
+    }
+
+    /**
+    * A method to build a session from the fields of a Redis hash.
+    *
+    * @param fields The hash fields, as returned by HGETALL.
+    * @return The session, or null if the hash was empty.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static Session fromHash(Map<String, String> fields) {
+
+        if(fields == null || fields.isEmpty()) {
+            return null;
+        }
+
+        String accountId = fields.get(ACCOUNT_ID);
+
+        return Session.builder()
+                .sessionId(fields.get(SESSION_ID))
+                .accountId(accountId != null ? UUID.fromString(accountId) : null)
+                .createdAt(instant(fields.get(CREATED_AT)))
+                .ip(fields.get(IP))
+                .userAgent(fields.get(USER_AGENT))
+                .expiresAt(instant(fields.get(EXPIRES_AT)))
+                .hardExpiration(instant(fields.get(HARD_EXPIRATION)))
+                .build();
+    }
+
+    /**
+    * A method to build a session from the values of an HMGET of FIELDS.
+    *
+    * @param values The field values, in the order of FIELDS.
+    * @return The session, or null if the hash does not exist.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static Session fromValues(List<String> values) {
+
+        if(values == null) {
+            return null;
+        }
+
+        Map<String, String> fields = new HashMap<>();
+
+        for(int i = 0; i < values.size() && i < FIELDS.size(); i++) {
+            if(values.get(i) != null) {
+                fields.put(FIELDS.get(i), values.get(i));
+            }
+        }
+
+        return fromHash(fields);
+    }
+
+    private static void add(List<String> fieldValues, String field, String value) {
+        if(value != null) {
+            fieldValues.add(field);
+            fieldValues.add(value);
+        }
+    }
+
+    private static String epochSeconds(Instant instant) {
+        return instant != null ? String.valueOf(instant.getEpochSecond()) : null;
+    }
+
+    private static Instant instant(String epochSeconds) {
+        return epochSeconds != null ? Instant.ofEpochSecond(Long.parseLong(epochSeconds)) : null;
+    }
+
+}
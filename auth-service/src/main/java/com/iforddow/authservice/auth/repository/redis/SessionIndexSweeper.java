@@ -0,0 +1,179 @@
+package com.iforddow.authservice.auth.repository.redis;
+
+import com.iforddow.authsession.common.AuthProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+* A background task that prunes the IDs of expired sessions from the
+* account session indexes. Session keys expire on their own, but their
+* IDs stay in the index until the index itself expires.
+*
+* Saving a session marks its index dirty in a sorted set, scored by
+* when the session may first expire. Each run only sweeps the indexes
+* that are due, at most session.sweeper.batch.size of them, with one
+* script call per index so every call stays on a single cluster slot.
+* A short lock makes sure only one node sweeps per interval.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SessionIndexSweeper {
+
+    private final AuthProperties authProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> sessionIndexSweepScript;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.sweeper.enabled}")
+    private boolean enabled;
+
+    @Value("${session.sweeper.interval.ms}")
+    private long intervalMs;
+
+    @Value("${session.sweeper.batch.size}")
+    private int batchSize;
+
+    @Value("${session.sweeper.dirty.key}")
+    private String dirtyKey;
+
+    @Value("${session.sweeper.lock.key}")
+    private String lockKey;
+
+    @Value("${session.ttl.seconds}")
+    private long sessionTtlSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Counter pruned;
+    private Counter scanned;
+    private Timer duration;
+
+    /**
+    * A method to register the sweeper metrics.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+        pruned = meterRegistry.counter("session.sweeper.pruned");
+        scanned = meterRegistry.counter("session.sweeper.indexes");
+        duration = meterRegistry.timer("session.sweeper.duration");
+    }
+
+    /**
+    * A method to mark an account session index for a later sweep. An
+    * index already waiting keeps its earlier due time.
+    *
+    * @param indexKey The account session index key.
+    * @param expiresAt When the newly indexed session may first expire.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void markDirty(String indexKey, Instant expiresAt) {
+
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            stringRedisTemplate.opsForZSet().addIfAbsent(dirtyKey, indexKey, expiresAt.getEpochSecond());
+        } catch (Exception e) {
+            // Lookups still prune the index, and it expires with its last session
+            log.warn("Failed to mark session index {} for sweeping: {}", indexKey, e.getMessage());
+        }
+    }
+
+    /**
+    * A scheduled method to sweep the account session indexes that are due.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${session.sweeper.interval.ms}")
+    public void sweep() {
+
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            // The lock is never released, it simply expires so one node sweeps per interval
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, nodeId, Duration.ofMillis(Math.max(1000, intervalMs - 100)));
+
+            if(!Boolean.TRUE.equals(acquired)) {
+                return;
+            }
+
+            duration.record(this::sweepDue);
+
+        } catch (Exception e) {
+            // Indexes stay marked, the next run picks them up again
+            log.warn("Session index sweep failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+    * A method to run the sweep script on each due index. Indexes that
+    * still hold sessions are marked again one sliding TTL later.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private void sweepDue() {
+
+        long now = Instant.now().getEpochSecond();
+
+        Set<String> due = stringRedisTemplate.opsForZSet().rangeByScore(dirtyKey, 0, now, 0, batchSize);
+
+        if(due == null || due.isEmpty()) {
+            return;
+        }
+
+        for(String indexKey : due) {
+
+            List<?> result = stringRedisTemplate.execute(
+                    sessionIndexSweepScript,
+                    List.of(indexKey),
+                    authProperties.getSessionPrefix()
+            );
+
+            scanned.increment();
+
+            if(result == null || result.size() < 2) {
+                continue;
+            }
+
+            pruned.increment(((Number) result.get(0)).doubleValue());
+
+            if(((Number) result.get(1)).longValue() == 0) {
+                stringRedisTemplate.opsForZSet().remove(dirtyKey, indexKey);
+            } else {
+                stringRedisTemplate.opsForZSet().add(dirtyKey, indexKey, now + sessionTtlSeconds);
+            }
+        }
+    }
+
+}
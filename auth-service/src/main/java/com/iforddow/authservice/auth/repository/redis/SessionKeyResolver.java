@@ -0,0 +1,353 @@
+package com.iforddow.authservice.auth.repository.redis;
+
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.common.AuthProperties;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+* A component to build the Redis keys for sessions and account indexes.
+*
+* With session.redis.hash.tags=true new session IDs carry their account ID,
+* and the stored ID of such a session is prefixed with a {accountId} hash
+* tag. The session keys and the account index then share one cluster slot,
+* so the multi-key scripts keep working on Redis Cluster. Sessions created
+* without a tag keep their untagged keys, whatever the current setting.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Component
+@RequiredArgsConstructor
+public class SessionKeyResolver {
+
+    private static final char TOKEN_SEPARATOR = '.';
+
+    // 16 bytes of URL-safe Base64 without padding
+    private static final int ENCODED_ACCOUNT_ID_LENGTH = 22;
+
+    // Flags (1 byte), issued at and hard expiry (8 bytes each, epoch seconds)
+    private static final int CLAIMS_LENGTH = 17;
+    private static final int ENCODED_CLAIMS_LENGTH = 23;
+
+    // The HMAC is truncated to 128 bits
+    private static final int MAC_LENGTH = 16;
+    private static final int ENCODED_MAC_LENGTH = 22;
+
+    // The length of a random part from SecureTokenGenerator
+    private static final int ENCODED_RANDOM_LENGTH = 43;
+
+    private static final byte FLAG_HASH_TAG = 0x01;
+
+    // Keeps signatures apart from the stored ID hashes made with the same key
+    private static final byte[] MAC_CONTEXT = "session-id:v1:".getBytes(StandardCharsets.US_ASCII);
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private final AuthProperties authProperties;
+    private final HashUtility hashUtility;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.redis.hash.tags}")
+    private boolean hashTags;
+
+    @Value("${session.id.signed}")
+    private boolean signed;
+
+    @Value("${session.id.signed.accept.unsigned}")
+    private boolean acceptUnsigned;
+
+    /**
+    * A method to build the public ID of a new session from its random
+    * part, prefixed with the encoded account ID when hash tags are on,
+    * and signed along with its hard expiry when signed IDs are on.
+    *
+    * @param accountId The ID of the account the session belongs to.
+    * @param randomId The random part of the session ID.
+    * @param hardExpiration The hard expiration of the session.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public String newSessionId(UUID accountId, String randomId, Instant hardExpiration) {
+
+        if(signed) {
+            return signedSessionId(accountId, randomId, hardExpiration);
+        }
+
+        if(!hashTags) {
+            return randomId;
+        }
+
+        return encodeAccountId(accountId) + TOKEN_SEPARATOR + randomId;
+    }
+
+    /**
+    * A method to check a raw session ID before it is looked up. Only
+    * enforced with session.id.signed=true, where unsigned IDs issued
+    * before the switch are still accepted if they are well formed and
+    * session.id.signed.accept.unsigned is on.
+    *
+    * @param rawSessionId The raw (unhashed) session ID.
+    * @return True if the ID may be looked up, false if it can be rejected.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean verify(String rawSessionId) {
+
+        if(!signed) {
+            return true;
+        }
+
+        if(rawSessionId == null || !isSignedFormat(rawSessionId)) {
+            return (acceptUnsigned && isUnsignedFormat(rawSessionId)) || reject("malformed");
+        }
+
+        int macStart = rawSessionId.length() - ENCODED_MAC_LENGTH;
+        byte[] claims;
+        byte[] mac;
+
+        try {
+            claims = BASE64_URL_DECODER.decode(rawSessionId.substring(macStart - 1 - ENCODED_CLAIMS_LENGTH, macStart - 1));
+            mac = BASE64_URL_DECODER.decode(rawSessionId.substring(macStart));
+        } catch (IllegalArgumentException e) {
+            return reject("malformed");
+        }
+
+        if(claims.length != CLAIMS_LENGTH || !MessageDigest.isEqual(mac, mac(rawSessionId.substring(0, macStart - 1)))) {
+            return reject("forged");
+        }
+
+        long hardExpiration = ByteBuffer.wrap(claims, 9, 8).getLong();
+
+        if(Instant.now().getEpochSecond() >= hardExpiration) {
+            return reject("expired");
+        }
+
+        return true;
+    }
+
+    /**
+    * A method to derive the stored ID of a session from its raw ID.
+    *
+    * @param rawSessionId The raw (unhashed) session ID.
+    * @return The hashed ID, prefixed with its hash tag if it carries one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public String storedSessionId(String rawSessionId) {
+
+        String hashedSessionId = hashUtility.hmacSha256(rawSessionId);
+        UUID accountId = accountIdOf(rawSessionId);
+
+        return accountId != null ? hashTag(accountId) + ":" + hashedSessionId : hashedSessionId;
+    }
+
+    /**
+    * A method to get the key of a stored session.
+    *
+    * @param storedSessionId The stored (hashed) session ID.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public String sessionKey(String storedSessionId) {
+        return authProperties.getSessionPrefix() + storedSessionId;
+    }
+
+    /**
+    * A method to get the key prefix of an account's session keys, as
+    * passed to the scripts that build session keys from indexed IDs.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public String sessionKeyPrefix() {
+        return authProperties.getSessionPrefix();
+    }
+
+    /**
+    * A method to get the index key a stored session belongs to. Tagged
+    * sessions live in the tagged index, in the same slot as their key.
+    *
+    * @param session The stored session.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public String accountIndexKey(Session session) {
+
+        boolean tagged = session.getSessionId().startsWith("{");
+
+        return tagged ? taggedIndexKey(session.getAccountId()) : legacyIndexKey(session.getAccountId());
+    }
+
+    /**
+    * A method to get every index key that may hold sessions of an
+    * account. Untagged sessions created before hash tags were turned
+    * on stay in the legacy index until they expire.
+    *
+    * @param accountId The ID of the account.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public List<String> accountIndexKeys(UUID accountId) {
+        return hashTags
+                ? List.of(taggedIndexKey(accountId), legacyIndexKey(accountId))
+                : List.of(legacyIndexKey(accountId));
+    }
+
+    private String taggedIndexKey(UUID accountId) {
+        return authProperties.getAccountSessionPrefix() + hashTag(accountId);
+    }
+
+    private String legacyIndexKey(UUID accountId) {
+        return authProperties.getAccountSessionPrefix() + accountId.toString();
+    }
+
+    private static String hashTag(UUID accountId) {
+        return "{" + accountId + "}";
+    }
+
+    private static String encodeAccountId(UUID accountId) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(16)
+                .putLong(accountId.getMostSignificantBits())
+                .putLong(accountId.getLeastSignificantBits());
+
+        return BASE64_URL.encodeToString(buffer.array());
+    }
+
+    private String signedSessionId(UUID accountId, String randomId, Instant hardExpiration) {
+
+        // Rounded up, so the claim never expires ahead of the session itself
+        long hardExpirySeconds = hardExpiration.getEpochSecond() + (hardExpiration.getNano() > 0 ? 1 : 0);
+
+        ByteBuffer claims = ByteBuffer.allocate(CLAIMS_LENGTH)
+                .put(hashTags ? FLAG_HASH_TAG : 0)
+                .putLong(Instant.now().getEpochSecond())
+                .putLong(hardExpirySeconds);
+
+        String body = encodeAccountId(accountId) + TOKEN_SEPARATOR + randomId + TOKEN_SEPARATOR + BASE64_URL.encodeToString(claims.array());
+
+        return body + TOKEN_SEPARATOR + BASE64_URL.encodeToString(mac(body));
+    }
+
+    private byte[] mac(String body) {
+
+        byte[] bodyBytes = body.getBytes(StandardCharsets.US_ASCII);
+        byte[] input = Arrays.copyOf(MAC_CONTEXT, MAC_CONTEXT.length + bodyBytes.length);
+        System.arraycopy(bodyBytes, 0, input, MAC_CONTEXT.length, bodyBytes.length);
+
+        return Arrays.copyOf(hashUtility.hmacSha256(input), MAC_LENGTH);
+    }
+
+    private boolean reject(String reason) {
+        meterRegistry.counter("session.id.rejected", "reason", reason).increment();
+        return false;
+    }
+
+    /**
+    * A method to check the layout of a signed ID. Random parts and
+    * encoded fields never contain the separator, so a legacy ID can
+    * never be mistaken for a signed one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private static boolean isSignedFormat(String rawSessionId) {
+
+        int length = rawSessionId.length();
+        int claimsSeparator = length - ENCODED_MAC_LENGTH - 1 - ENCODED_CLAIMS_LENGTH - 1;
+
+        return claimsSeparator > ENCODED_ACCOUNT_ID_LENGTH
+                && rawSessionId.charAt(ENCODED_ACCOUNT_ID_LENGTH) == TOKEN_SEPARATOR
+                && rawSessionId.charAt(claimsSeparator) == TOKEN_SEPARATOR
+                && rawSessionId.charAt(length - ENCODED_MAC_LENGTH - 1) == TOKEN_SEPARATOR
+                && rawSessionId.indexOf(TOKEN_SEPARATOR, ENCODED_ACCOUNT_ID_LENGTH + 1) == claimsSeparator;
+    }
+
+    private static boolean isUnsignedFormat(String rawSessionId) {
+
+        if(rawSessionId == null) {
+            return false;
+        }
+
+        if(rawSessionId.length() == ENCODED_RANDOM_LENGTH) {
+            return isUrlSafe(rawSessionId, 0);
+        }
+
+        return rawSessionId.length() == ENCODED_ACCOUNT_ID_LENGTH + 1 + ENCODED_RANDOM_LENGTH
+                && accountIdOf(rawSessionId) != null
+                && isUrlSafe(rawSessionId, ENCODED_ACCOUNT_ID_LENGTH + 1);
+    }
+
+    private static boolean isUrlSafe(String value, int from) {
+
+        for(int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if(!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+    * A method to read the account ID carried by a raw session ID.
+    *
+    * @return The account ID, or null for an untagged or malformed ID.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private static UUID accountIdOf(String rawSessionId) {
+
+        // Signed IDs always carry the account, the flag says whether it is a hash tag
+        if(isSignedFormat(rawSessionId) && !isHashTagged(rawSessionId)) {
+            return null;
+        }
+
+        if(rawSessionId.length() <= ENCODED_ACCOUNT_ID_LENGTH || rawSessionId.charAt(ENCODED_ACCOUNT_ID_LENGTH) != TOKEN_SEPARATOR) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(BASE64_URL_DECODER.decode(rawSessionId.substring(0, ENCODED_ACCOUNT_ID_LENGTH)));
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isHashTagged(String rawSessionId) {
+
+        int macStart = rawSessionId.length() - ENCODED_MAC_LENGTH;
+
+        try {
+            byte[] claims = BASE64_URL_DECODER.decode(rawSessionId.substring(macStart - 1 - ENCODED_CLAIMS_LENGTH, macStart - 1));
+            return claims.length > 0 && (claims[0] & FLAG_HASH_TAG) != 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+}
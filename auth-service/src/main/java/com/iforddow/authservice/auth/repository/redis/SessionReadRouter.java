@@ -0,0 +1,261 @@
+package com.iforddow.authservice.auth.repository.redis;
+
+import com.iforddow.authsession.entity.Session;
+import io.lettuce.core.ReadFrom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* A component to route read-only session lookups to Redis replicas.
+*
+* Reads go to a replica only while the measured replication lag stays
+* within session.redis.replica.max.lag.ms, and never for the rest of a
+* request that already wrote a session, so a login is immediately
+* visible to itself. Writes and revocations always use the primary.
+*
+* The replica connection factories are created here rather than as
+* beans, so the auto-configured primary connection factory stays
+* untouched. Lookups prefer a replica and fall back to the primary, but
+* the lag is only ever read from a replica, so losing every replica
+* shows as unhealthy rather than as a primary with no lag.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOn("sessionCodecConfig")
+public class SessionReadRouter {
+
+    private static final String WROTE_ATTRIBUTE = SessionReadRouter.class.getName() + ".wrote";
+
+    // Keeps the heartbeat keys of stopped nodes from piling up
+    private static final Duration HEARTBEAT_TTL = Duration.ofMinutes(1);
+
+    private final RedisTemplate<String, Session> sessionRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${session.redis.replica.enabled}")
+    private boolean enabled;
+
+    @Value("${session.redis.replica.nodes}")
+    private String replicaNodes;
+
+    @Value("${session.redis.replica.max.lag.ms}")
+    private long maxLagMs;
+
+    @Value("${session.redis.replica.heartbeat.key}")
+    private String heartbeatKey;
+
+    @Value("${spring.data.redis.host}")
+    private String primaryHost;
+
+    @Value("${spring.data.redis.port}")
+    private int primaryPort;
+
+    @Value("${spring.data.redis.password:}")
+    private String password;
+
+    private LettuceConnectionFactory replicaConnectionFactory;
+    private LettuceConnectionFactory heartbeatConnectionFactory;
+    private RedisTemplate<String, Session> replicaSessionTemplate;
+    private StringRedisTemplate replicaStringTemplate;
+    private StringRedisTemplate heartbeatTemplate;
+
+    // Each node writes its own heartbeat key, so no node reads the heartbeat of another
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong lagMs = new AtomicLong(Long.MAX_VALUE);
+    private volatile boolean healthy;
+
+    private Counter replicaReads;
+    private Counter primaryReads;
+
+    /**
+    * A method to connect to the replicas and register metrics.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+
+        if(!enabled) {
+            return;
+        }
+
+        replicaConnectionFactory = connect(ReadFrom.REPLICA_PREFERRED);
+        heartbeatConnectionFactory = connect(ReadFrom.REPLICA);
+
+        // Same codec as the primary session template, hence the dependency on SessionCodecConfig
+        replicaSessionTemplate = new RedisTemplate<>();
+        replicaSessionTemplate.setConnectionFactory(replicaConnectionFactory);
+        replicaSessionTemplate.setKeySerializer(new StringRedisSerializer());
+        replicaSessionTemplate.setValueSerializer(sessionRedisTemplate.getValueSerializer());
+        replicaSessionTemplate.afterPropertiesSet();
+
+        replicaStringTemplate = new StringRedisTemplate(replicaConnectionFactory);
+        heartbeatTemplate = new StringRedisTemplate(heartbeatConnectionFactory);
+
+        replicaReads = meterRegistry.counter("session.replica.reads", "target", "replica");
+        primaryReads = meterRegistry.counter("session.replica.reads", "target", "primary");
+        meterRegistry.gauge("session.replica.lag.ms", lagMs);
+    }
+
+    @PreDestroy
+    public void destroy() {
+
+        if(replicaConnectionFactory != null) {
+            replicaConnectionFactory.destroy();
+        }
+
+        if(heartbeatConnectionFactory != null) {
+            heartbeatConnectionFactory.destroy();
+        }
+    }
+
+    private LettuceConnectionFactory connect(ReadFrom readFrom) {
+
+        RedisStaticMasterReplicaConfiguration configuration = new RedisStaticMasterReplicaConfiguration(primaryHost, primaryPort);
+
+        for(String node : replicaNodes.split(",")) {
+            String[] hostAndPort = node.trim().split(":");
+            configuration.addNode(hostAndPort[0], Integer.parseInt(hostAndPort[1]));
+        }
+
+        if(!password.isBlank()) {
+            configuration.setPassword(password);
+        }
+
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .readFrom(readFrom)
+                .build();
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        return connectionFactory;
+    }
+
+    /**
+    * A scheduled method to measure the replication lag. The primary
+    * writes the current time to this node's heartbeat key and the
+    * replica's copy of it shows how far behind the replica is.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${session.redis.replica.heartbeat.interval.ms}")
+    public void heartbeat() {
+
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            String key = heartbeatKey + ":" + nodeId;
+
+            long now = Instant.now().toEpochMilli();
+            stringRedisTemplate.opsForValue().set(key, String.valueOf(now), HEARTBEAT_TTL);
+
+            // Never answered by the primary, with no replica reachable the read fails
+            String replicated = heartbeatTemplate.opsForValue().get(key);
+
+            // The measured lag includes up to one heartbeat interval
+            lagMs.set(replicated != null ? now - Long.parseLong(replicated) : Long.MAX_VALUE);
+        } catch (Exception e) {
+            lagMs.set(Long.MAX_VALUE);
+            log.warn("Replica heartbeat failed: {}", e.getMessage());
+        }
+
+        healthy = lagMs.get() <= maxLagMs;
+    }
+
+    /**
+    * A method to get the template for session value reads.
+    *
+    * @param replica Whether to read from a replica, see useReplica.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public RedisTemplate<String, Session> sessionReads(boolean replica) {
+        return replica ? replicaSessionTemplate : sessionRedisTemplate;
+    }
+
+    /**
+    * A method to get the template for string, hash and index reads.
+    *
+    * @param replica Whether to read from a replica, see useReplica.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public StringRedisTemplate stringReads(boolean replica) {
+        return replica ? replicaStringTemplate : stringRedisTemplate;
+    }
+
+    /**
+    * A method to decide where the next lookup is read from. Called once
+    * per lookup, a replica miss can then be retried on the primary.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public boolean useReplica() {
+
+        boolean replica = enabled && healthy && !wroteInThisRequest();
+
+        if(enabled) {
+            (replica ? replicaReads : primaryReads).increment();
+        }
+
+        return replica;
+    }
+
+    /**
+    * A method to record that the current request wrote a session,
+    * pinning its remaining reads to the primary.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void markWrite() {
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if(enabled && attributes != null) {
+            attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean wroteInThisRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+}
@@ -0,0 +1,222 @@
+package com.iforddow.authservice.auth.repository.redis;
+
+import com.iforddow.authsession.entity.Session;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+* A compact, versioned binary serializer for Session values in Redis.
+*
+* Layout (version 1):
+* [version:1][nulls:1][accountId:16][createdAt:8][expiresAt:8][hardExpiration:8]
+* [sessionId][ip][userAgent]
+*
+* UUIDs are written as two longs, instants as epoch seconds and strings as a
+* varint byte length followed by UTF-8 bytes. The nulls byte flags which
+* fields were null, null fields are skipped entirely.
+*
+* Values starting with '{' are legacy Jackson JSON and are still read, so
+* existing sessions keep working while they are rewritten or expire.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class SessionRedisSerializer implements RedisSerializer<Session> {
+
+    static final byte FORMAT_VERSION = 1;
+
+    private static final byte JSON_OBJECT_START = '{';
+
+    private static final int NULL_SESSION_ID = 1;
+    private static final int NULL_ACCOUNT_ID = 1 << 1;
+    private static final int NULL_CREATED_AT = 1 << 2;
+    private static final int NULL_IP = 1 << 3;
+    private static final int NULL_USER_AGENT = 1 << 4;
+    private static final int NULL_EXPIRES_AT = 1 << 5;
+    private static final int NULL_HARD_EXPIRATION = 1 << 6;
+
+    private final RedisSerializer<Session> legacySerializer;
+
+    /**
+    * A constructor for the serializer.
+    *
+    * @param objectMapper The ObjectMapper used to read legacy JSON values.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public SessionRedisSerializer(ObjectMapper objectMapper) {
+        this.legacySerializer = new JacksonJsonRedisSerializer<>(objectMapper, Session.class);
+    }
+
+    @Override
+    public byte[] serialize(Session session) throws SerializationException {
+
+        if(session == null) {
+            return null;
+        }
+
+        byte[] sessionId = utf8(session.getSessionId());
+        byte[] ip = utf8(session.getIp());
+        byte[] userAgent = utf8(session.getUserAgent());
+
+        int nulls = (sessionId == null ? NULL_SESSION_ID : 0)
+                | (session.getAccountId() == null ? NULL_ACCOUNT_ID : 0)
+                | (session.getCreatedAt() == null ? NULL_CREATED_AT : 0)
+                | (ip == null ? NULL_IP : 0)
+                | (userAgent == null ? NULL_USER_AGENT : 0)
+                | (session.getExpiresAt() == null ? NULL_EXPIRES_AT : 0)
+                | (session.getHardExpiration() == null ? NULL_HARD_EXPIRATION : 0);
+
+        // Size the buffer exactly so the only allocation is the result itself
+        int size = 2
+                + (session.getAccountId() != null ? 16 : 0)
+                + (session.getCreatedAt() != null ? 8 : 0)
+                + (session.getExpiresAt() != null ? 8 : 0)
+                + (session.getHardExpiration() != null ? 8 : 0)
+                + stringSize(sessionId) + stringSize(ip) + stringSize(userAgent);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        buffer.put(FORMAT_VERSION);
+        buffer.put((byte) nulls);
+
+        if(session.getAccountId() != null) {
+            buffer.putLong(session.getAccountId().getMostSignificantBits());
+            buffer.putLong(session.getAccountId().getLeastSignificantBits());
+        }
+
+        putInstant(buffer, session.getCreatedAt());
+        putInstant(buffer, session.getExpiresAt());
+        putInstant(buffer, session.getHardExpiration());
+
+        putString(buffer, sessionId);
+        putString(buffer, ip);
+        putString(buffer, userAgent);
+
+        return buffer.array();
+    }
+
+    @Override
+    public Session deserialize(byte[] bytes) throws SerializationException {
+
+        if(bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        // Legacy values written by the Jackson serializer
+        if(bytes[0] == JSON_OBJECT_START) {
+            return legacySerializer.deserialize(bytes);
+        }
+
+        if(bytes[0] != FORMAT_VERSION) {
+            throw new SerializationException("Unsupported session format version: " + bytes[0]);
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+
+            int nulls = buffer.get();
+
+            UUID accountId = (nulls & NULL_ACCOUNT_ID) == 0 ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+            Instant createdAt = (nulls & NULL_CREATED_AT) == 0 ? Instant.ofEpochSecond(buffer.getLong()) : null;
+            Instant expiresAt = (nulls & NULL_EXPIRES_AT) == 0 ? Instant.ofEpochSecond(buffer.getLong()) : null;
+            Instant hardExpiration = (nulls & NULL_HARD_EXPIRATION) == 0 ? Instant.ofEpochSecond(buffer.getLong()) : null;
+
+            String sessionId = (nulls & NULL_SESSION_ID) == 0 ? getString(buffer) : null;
+            String ip = (nulls & NULL_IP) == 0 ? getString(buffer) : null;
+            String userAgent = (nulls & NULL_USER_AGENT) == 0 ? getString(buffer) : null;
+
+            return Session.builder()
+                    .sessionId(sessionId)
+                    .accountId(accountId)
+                    .createdAt(createdAt)
+                    .ip(ip)
+                    .userAgent(userAgent)
+                    .expiresAt(expiresAt)
+                    .hardExpiration(hardExpiration)
+                    .build();
+
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new SerializationException("Malformed session value", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] value) {
+        return value != null ? varIntSize(value.length) + value.length : 0;
+    }
+
+    private static void putInstant(ByteBuffer buffer, Instant instant) {
+        if(instant != null) {
+            buffer.putLong(instant.getEpochSecond());
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+
+        if(value == null) {
+            return;
+        }
+
+        int length = value.length;
+
+        // Unsigned LEB128 length, one byte for anything under 128 bytes
+        while((length & ~0x7F) != 0) {
+            buffer.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+
+        buffer.put((byte) length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+
+        int length = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+            if(shift > 28) {
+                throw new IllegalArgumentException("Malformed string length");
+            }
+
+            b = buffer.get();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while((b & 0x80) != 0);
+
+        if(length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed string length");
+        }
+
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+
+        return value;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+
+        while((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+
+        return size;
+    }
+
+}
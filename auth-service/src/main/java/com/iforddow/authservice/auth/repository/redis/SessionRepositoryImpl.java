@@ -1,17 +1,34 @@
 package com.iforddow.authservice.auth.repository.redis;
 
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import com.iforddow.authservice.auth.cache.RevokedSessionFilter;
+import com.iforddow.authservice.auth.cache.SessionNearCache;
+import com.iforddow.authservice.auth.repository.AccountSessionRepository;
+import com.iforddow.authservice.auth.cache.SessionTouchBuffer;
 import com.iforddow.authservice.common.exception.ResourceNotFoundException;
-import com.iforddow.authservice.common.utility.HashUtility;
-import com.iforddow.authsession.common.AuthProperties;
 import com.iforddow.authsession.entity.Session;
-import com.iforddow.authsession.repository.SessionRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -20,17 +37,41 @@ import java.util.UUID;
 * This is an implementation of the SessionRepository interface. Provided
 * via the Session dependency package.
 *
+* Sessions are stored either as a single serialized value or, with
+* session.redis.storage=hash, as a Redis hash so a sliding refresh
+* only has to rewrite the expiresAt field.
+*
 * @author IFD
 * @since 2025-11-30
 * */
+@Slf4j
 @Repository
 @RequiredArgsConstructor
-public class SessionRepositoryImpl implements SessionRepository {
+@ConditionalOnProperty(name = "session.store", havingValue = "redis", matchIfMissing = true)
+public class SessionRepositoryImpl implements AccountSessionRepository {
 
-    private final AuthProperties authProperties;
     private final RedisTemplate<String,Session> sessionRedisTemplate;
     private final StringRedisTemplate stringRedisTemplate;
-    private final HashUtility hashUtility;
+    private final SessionKeyResolver sessionKeyResolver;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> sessionSaveScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> sessionSaveHashScript;
+    private final RedisScript<Long> sessionRefreshHashScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> sessionRevokeAllScript;
+    private final SessionNearCache sessionNearCache;
+    private final SessionTouchBuffer sessionTouchBuffer;
+    private final SessionReadRouter sessionReadRouter;
+    private final RevokedSessionFilter revokedSessionFilter;
+    private final AccountActivityBuffer accountActivityBuffer;
+    private final SessionIndexSweeper sessionIndexSweeper;
+
+    @Value("${session.redis.storage}")
+    private String sessionStorage;
+
+    @Value("${auth.max.sessions}")
+    private int maxSessions;
 
     /**
     * A method to find a session by its ID.
@@ -44,14 +85,53 @@ public class SessionRepositoryImpl implements SessionRepository {
     @Override
     public Session findById(String sessionId) {
 
-        String hashedSessionId = hashUtility.hmacSha256(sessionId);
+        // Malformed, forged and hard-expired signed IDs never reach Redis
+        if(!sessionKeyResolver.verify(sessionId)) {
+            return null;
+        }
+
+        String hashedSessionId = sessionKeyResolver.storedSessionId(sessionId);
+
+        // Recently revoked IDs are rejected in-process, before the near cache can serve them.
+        // A filter holding more IDs than it was sized for has its hits confirmed on the primary.
+        if(revokedSessionFilter.mightBeRevoked(hashedSessionId)) {
+            return revokedSessionFilter.overfilled() ? confirmRevoked(hashedSessionId) : null;
+        }
+
+        // Serve from the node-local cache when possible
+        Session session = sessionNearCache.get(hashedSessionId);
+
+        if(session == null) {
+            String key = sessionKeyResolver.sessionKey(hashedSessionId);
+
+            // A revoke landing during the read must not be undone by caching what was read
+            long generation = sessionNearCache.generation(hashedSessionId);
+            boolean replica = sessionReadRouter.useReplica();
+
+            session = readSession(key, replica);
+
+            // A session created moments ago may not have reached the replica yet
+            if(session == null && replica) {
+                session = readSession(key, false);
+            }
+
+            if(session != null) {
+                sessionNearCache.put(session, generation);
+            }
+        }
+
+        // Every validation passes through here, so this is where sliding expiry and activity are recorded
+        if(session != null) {
+            sessionTouchBuffer.touch(session);
+            accountActivityBuffer.record(session.getAccountId());
+        }
 
-        String key = authProperties.getSessionPrefix() + hashedSessionId;
-        return sessionRedisTemplate.opsForValue().get(key);
+        return session;
     }
 
     /**
-    * A method to save a session to Redis.
+    * A method to save a session to Redis. The oldest sessions of the
+    * account beyond auth.max.sessions are evicted in the same round trip.
     *
     * @param session The session object to be saved.
     *
@@ -59,10 +139,11 @@ public class SessionRepositoryImpl implements SessionRepository {
     * @since 2025-11-30
     * */
     @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public void save(Session session) {
 
         Session newSession = new Session(
-                hashUtility.hmacSha256(session.getSessionId()),
+                sessionKeyResolver.storedSessionId(session.getSessionId()),
                 session.getAccountId(),
                 session.getCreatedAt(),
                 session.getIp(),
@@ -71,16 +152,249 @@ public class SessionRepositoryImpl implements SessionRepository {
                 session.getHardExpiration()
         );
 
-        String sessionKey = authProperties.getSessionPrefix() + newSession.getSessionId();
-        String userSessionsKey = authProperties.getAccountSessionPrefix() + newSession.getAccountId().toString();
+        // With hash tags both keys share a cluster slot
+        String sessionKey = sessionKeyResolver.sessionKey(newSession.getSessionId());
+        String userSessionsKey = sessionKeyResolver.accountIndexKey(newSession);
+
+        long hardExpiration = newSession.getHardExpiration().getEpochSecond();
+        long secondsRemaining = Math.max(1, hardExpiration - Instant.now().getEpochSecond());
+
+        long createdAt = newSession.getCreatedAt().toEpochMilli();
+
+        List<String> evicted;
+
+        // Save the session, its expiry and the account index entry, and enforce
+        // the session limit, in one atomic round trip
+        if(isHashStorage()) {
+
+            List<String> args = new ArrayList<>();
+            args.add(String.valueOf(hardExpiration));
+            args.add(newSession.getSessionId());
+            args.add(String.valueOf(secondsRemaining));
+            args.add(String.valueOf(createdAt));
+            args.add(String.valueOf(maxSessions));
+            args.add(sessionKeyResolver.sessionKeyPrefix());
+            args.addAll(SessionHashMapper.toFieldValues(newSession));
+
+            evicted = stringRedisTemplate.execute(sessionSaveHashScript, List.of(sessionKey, userSessionsKey), args.toArray());
+        } else {
+            evicted = sessionRedisTemplate.execute(
+                    sessionSaveScript,
+                    RedisSerializer.byteArray(),
+                    // Evicted IDs are plain strings, the script result type is a raw List
+                    (RedisSerializer<List>) (RedisSerializer<?>) RedisSerializer.string(),
+                    List.of(sessionKey, userSessionsKey),
+                    serializeSession(newSession),
+                    toBytes(String.valueOf(hardExpiration)),
+                    toBytes(newSession.getSessionId()),
+                    toBytes(String.valueOf(secondsRemaining)),
+                    toBytes(String.valueOf(createdAt)),
+                    toBytes(String.valueOf(maxSessions)),
+                    toBytes(sessionKeyResolver.sessionKeyPrefix())
+            );
+        }
+
+        // Later reads in this request must see the new session
+        sessionReadRouter.markWrite();
+
+        // The index holds a dead ID once the session expires
+        sessionIndexSweeper.markDirty(userSessionsKey, newSession.getExpiresAt());
+
+        // Sessions evicted to make room must stop validating on every node
+        if(evicted != null && !evicted.isEmpty()) {
+            unlinkUntagged(evicted);
+            sessionNearCache.invalidate(evicted);
+            revokedSessionFilter.revoked(evicted);
+        }
+
+        sessionNearCache.put(newSession);
+    }
+
+    /**
+    * A method to delete the keys of evicted sessions whose IDs carry no
+    * hash tag. The save script only deletes tagged keys, the others may
+    * live in another cluster slot than the account index.
+    *
+    * @param evicted The hashed IDs of the evicted sessions.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private void unlinkUntagged(List<String> evicted) {
+
+        List<String> keys = evicted.stream()
+                .filter(hashedSessionId -> !hashedSessionId.startsWith("{"))
+                .map(sessionKeyResolver::sessionKey)
+                .toList();
+
+        if(!keys.isEmpty()) {
+            stringRedisTemplate.unlink(keys);
+        }
+    }
+
+    /**
+    * A method to slide the expiry of a stored session. In hash storage
+    * only the expiresAt field is written, otherwise the value is replaced
+    * keeping its TTL. A session revoked in the meantime is not recreated.
+    *
+    * @param session The stored session (hashed ID) with its new expiresAt.
+    * @return true if the session was refreshed, false if it no longer exists.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public boolean refresh(Session session) {
+        return refreshAll(List.of(session)) > 0;
+    }
+
+    /**
+    * A method to slide the expiry of many stored sessions in a single
+    * pipelined round trip. See refresh for the per-session semantics.
+    *
+    * @param sessions The stored sessions (hashed IDs) with their new expiresAt.
+    * @return The number of sessions that still existed and were refreshed.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public int refreshAll(List<Session> sessions) {
+
+        if(sessions.isEmpty()) {
+            return 0;
+        }
+
+        boolean hashStorage = isHashStorage();
+
+        // A session revoked while the refresh is in flight must not be re-cached
+        List<Long> generations = sessions.stream()
+                .map(session -> sessionNearCache.generation(session.getSessionId()))
+                .toList();
+
+        List<Object> results;
+
+        try {
+            results = pipelineRefresh(sessions, hashStorage, false);
+        } catch (RedisPipelineException e) {
+            // The script is not cached on the server, e.g. after a restart, EVAL sends it once
+            if(!hashStorage || !isNoScript(e)) {
+                throw e;
+            }
+
+            results = pipelineRefresh(sessions, true, true);
+        }
+
+        int refreshed = 0;
+        List<Session> legacy = new ArrayList<>();
+        List<Long> legacyGenerations = new ArrayList<>();
+
+        for(int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+
+            // Only re-cache sessions that still exist, never resurrect a revoked one
+            if(Boolean.TRUE.equals(result) || Long.valueOf(1).equals(result)) {
+                sessionNearCache.put(sessions.get(i), generations.get(i));
+                refreshed++;
+            } else if(Long.valueOf(2).equals(result)) {
+                legacy.add(sessions.get(i));
+                legacyGenerations.add(generations.get(i));
+            }
+        }
+
+        if(!legacy.isEmpty()) {
+            refreshed += refreshLegacy(legacy, legacyGenerations);
+        }
+
+        return refreshed;
+    }
+
+    /**
+    * A method to write the refreshes of many sessions in one pipeline.
+    * In hash storage the refresh script is run by its SHA, or by its
+    * full text when sendScript is set.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private List<Object> pipelineRefresh(List<Session> sessions, boolean hashStorage, boolean sendScript) {
+
+        byte[] refreshScript = toBytes(sendScript ? sessionRefreshHashScript.getScriptAsString() : sessionRefreshHashScript.getSha1());
+
+        return stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(Session session : sessions) {
+
+                byte[] key = toBytes(sessionKeyResolver.sessionKey(session.getSessionId()));
+
+                if(hashStorage) {
+                    byte[] expiresAt = toBytes(String.valueOf(session.getExpiresAt().getEpochSecond()));
+                    byte[] hardExpiration = toBytes(String.valueOf(session.getHardExpiration().getEpochSecond()));
+
+                    if(sendScript) {
+                        connection.scriptingCommands().eval(refreshScript, ReturnType.INTEGER, 1, key, expiresAt, hardExpiration);
+                    } else {
+                        connection.scriptingCommands().evalSha(refreshScript, ReturnType.INTEGER, 1, key, expiresAt, hardExpiration);
+                    }
+                } else {
+                    connection.stringCommands().set(key, serializeSession(session), Expiration.keepTtl(), RedisStringCommands.SetOption.ifPresent());
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+    * A method to refresh sessions that were written as a single value
+    * before the switch to hash storage. The value is replaced keeping
+    * its TTL, and only if the session still exists.
+    *
+    * @param sessions The stored sessions (hashed IDs) with their new expiresAt.
+    * @param generations The near cache generations read before the refresh.
+    * @return The number of sessions that still existed and were refreshed.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private int refreshLegacy(List<Session> sessions, List<Long> generations) {
+
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for(Session session : sessions) {
+                byte[] key = toBytes(sessionKeyResolver.sessionKey(session.getSessionId()));
+                connection.stringCommands().set(key, serializeSession(session), Expiration.keepTtl(), RedisStringCommands.SetOption.ifPresent());
+            }
+            return null;
+        });
+
+        int refreshed = 0;
+
+        for(int i = 0; i < results.size(); i++) {
+            if(Boolean.TRUE.equals(results.get(i))) {
+                sessionNearCache.put(sessions.get(i), generations.get(i));
+                refreshed++;
+            }
+        }
+
+        return refreshed;
+    }
+
+    /**
+    * A scheduled method to write the sliding expiry refreshes coalesced
+    * by the touch buffer, in one pipelined batch per interval.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${session.touch.flush.interval.ms}")
+    @PreDestroy
+    public void flushTouches() {
 
-        // Save session object in Redis
-        sessionRedisTemplate.opsForValue().set(sessionKey, newSession);
-        sessionRedisTemplate.expireAt(sessionKey, newSession.getHardExpiration());
+        List<Session> sessions = sessionTouchBuffer.drain();
 
-        // Add session ID to the user's set of sessions
-        stringRedisTemplate.opsForSet().add(userSessionsKey, newSession.getSessionId());
-        stringRedisTemplate.expireAt(userSessionsKey, newSession.getHardExpiration());
+        try {
+            refreshAll(sessions);
+        } catch (Exception e) {
+            // A lost refresh is retried on the next request for the session
+            log.warn("Failed to flush {} session refreshes: {}", sessions.size(), e.getMessage());
+        }
     }
 
     /**
@@ -94,7 +408,7 @@ public class SessionRepositoryImpl implements SessionRepository {
     * */
     @Override
     public boolean exists(String sessionId) {
-        return sessionRedisTemplate.hasKey(authProperties.getSessionPrefix() + sessionId);
+        return sessionRedisTemplate.hasKey(sessionKeyResolver.sessionKey(sessionId));
     }
 
     /**
@@ -106,9 +420,33 @@ public class SessionRepositoryImpl implements SessionRepository {
      * @author IFD
      * @since 2025-11-11
      * */
+    @Override
     public List<Session> findAllByAccountId(UUID accountId) {
+        List<Session> sessions = new ArrayList<>();
+
+        // Each index lives in a single slot, tagged and legacy indexes are read separately
+        for(String indexKey : sessionKeyResolver.accountIndexKeys(accountId)) {
+            sessions.addAll(findAllInIndex(indexKey));
+        }
+
+        return sessions;
+    }
+
+    /**
+     * A method to get the sessions of a single account index. IDs whose
+     * session already expired are pruned from the index on the way.
+     *
+     * @param indexKey The account session index key.
+     * @return The sessions still present.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private List<Session> findAllInIndex(String indexKey) {
         // Retrieve all session IDs for the given account ID
-        Set<String> sessionIds = stringRedisTemplate.opsForSet().members(authProperties.getAccountSessionPrefix() + accountId.toString());
+        boolean replica = sessionReadRouter.useReplica();
+
+        Set<String> sessionIds = readIndex(indexKey, replica);
 
         // If no session IDs found, return empty list
         if (sessionIds == null || sessionIds.isEmpty()) {
@@ -116,22 +454,37 @@ public class SessionRepositoryImpl implements SessionRepository {
         }
 
         // Construct session keys and retrieve session objects
-        List<String> sessionKeys = sessionIds.stream()
-                .map(id -> authProperties.getSessionPrefix() + id)
+        List<String> ids = List.copyOf(sessionIds);
+        List<String> sessionKeys = ids.stream()
+                .map(sessionKeyResolver::sessionKey)
                 .toList();
 
-        // Bulk get sessions from Redis
-        List<Session> sessions = sessionRedisTemplate.opsForValue().multiGet(sessionKeys);
+        // Bulk get sessions from Redis, with hash tags all keys share a slot
+        List<Session> sessions = readSessions(sessionKeys, replica);
 
         // If no sessions found, return empty list
         if(sessions == null || sessions.isEmpty()) {
             return List.of();
         }
 
-        // Remove null entries in case some sessions were not found
-        return sessions.stream()
-                .filter(Objects::nonNull)
-                .toList();
+        List<Session> found = new ArrayList<>(sessions.size());
+        List<String> dead = new ArrayList<>();
+
+        // Drop dead IDs here too, the sweeper only gets to an index once it is due.
+        // A replica may simply lag behind, so only prune what the primary missed.
+        for(int i = 0; i < sessions.size(); i++) {
+            if(sessions.get(i) != null) {
+                found.add(sessions.get(i));
+            } else if(!replica) {
+                dead.add(ids.get(i));
+            }
+        }
+
+        if(!dead.isEmpty()) {
+            removeFromIndex(indexKey, dead.toArray(String[]::new));
+        }
+
+        return found;
     }
 
     /**
@@ -145,21 +498,20 @@ public class SessionRepositoryImpl implements SessionRepository {
     @Override
     public void delete(String sessionId) {
 
-        System.out.println("Deleting session with ID (String): " + sessionId);
+        if(!sessionKeyResolver.verify(sessionId)) {
+            throw new ResourceNotFoundException("Session not found");
+        }
 
-        String hashedSessionId = hashUtility.hmacSha256(sessionId);
+        String hashedSessionId = sessionKeyResolver.storedSessionId(sessionId);
 
-        Session session = findById(hashedSessionId);
+        // Look up by key directly on the primary, findById expects the raw (unhashed) ID
+        Session session = readSession(sessionKeyResolver.sessionKey(hashedSessionId), false);
 
         if(session == null) {
             throw new ResourceNotFoundException("Session not found");
         }
 
-        String key = authProperties.getSessionPrefix() + hashedSessionId;
-        sessionRedisTemplate.delete(key);
-
-        String accountSessionsKey = authProperties.getAccountSessionPrefix() + session.getAccountId();
-        stringRedisTemplate.opsForSet().remove(accountSessionsKey, hashedSessionId);
+        delete(session);
     }
 
     /**
@@ -174,21 +526,333 @@ public class SessionRepositoryImpl implements SessionRepository {
     public void delete(Session session) {
         String hashedSessionId = session.getSessionId();
 
-        String key = authProperties.getSessionPrefix() + hashedSessionId;
+        String key = sessionKeyResolver.sessionKey(hashedSessionId);
         sessionRedisTemplate.delete(key);
 
-        String accountSessionsKey = authProperties.getAccountSessionPrefix() + session.getAccountId();
-        stringRedisTemplate.opsForSet().remove(accountSessionsKey, hashedSessionId);
+        String accountSessionsKey = sessionKeyResolver.accountIndexKey(session);
+        removeFromIndex(accountSessionsKey, hashedSessionId);
+
+        sessionReadRouter.markWrite();
+
+        // Evict the session from every node's near cache and reject its replays
+        sessionNearCache.invalidate(List.of(hashedSessionId));
+        revokedSessionFilter.revoked(List.of(hashedSessionId));
     }
 
     @Override
     public void deleteAllByAccountId(UUID accountId) {
+        revokeAllByAccountId(accountId);
+    }
+
+    /**
+     * A method to revoke every session of an account, and the account's
+     * session index, in a single round trip regardless of how many
+     * sessions the account has.
+     *
+     * @param accountId The ID of the account whose sessions are to be revoked.
+     * @return The number of sessions that were revoked.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int revokeAllByAccountId(UUID accountId) {
+
+        int revoked = 0;
+
+        sessionReadRouter.markWrite();
+
+        // One script call per index, each index and its sessions share a slot
+        for(String indexKey : sessionKeyResolver.accountIndexKeys(accountId)) {
+
+            List<String> result = stringRedisTemplate.execute(
+                    sessionRevokeAllScript,
+                    List.of(indexKey),
+                    sessionKeyResolver.sessionKeyPrefix()
+            );
+
+            if(result == null || result.isEmpty()) {
+                continue;
+            }
+
+            // The first element is the removed count, the rest are the indexed hashed IDs
+            sessionNearCache.invalidate(result.subList(1, result.size()));
+            revokedSessionFilter.revoked(result.subList(1, result.size()));
+
+            revoked += Integer.parseInt(result.getFirst());
+        }
+
+        return revoked;
+    }
+
+    /**
+     * A method to confirm a hit of an overfilled revoked filter on the
+     * primary, counting the hits that turn out to be live sessions.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private Session confirmRevoked(String hashedSessionId) {
+
+        long generation = sessionNearCache.generation(hashedSessionId);
+        Session session = readSession(sessionKeyResolver.sessionKey(hashedSessionId), false);
+
+        if(session != null) {
+            revokedSessionFilter.falsePositive();
+            sessionNearCache.put(session, generation);
+            sessionTouchBuffer.touch(session);
+            accountActivityBuffer.record(session.getAccountId());
+        }
+
+        return session;
+    }
+
+    /**
+     * A method to read a single session in the configured storage format.
+     * In hash storage, values written before the switch are still read.
+     *
+     * @param key The session key.
+     * @param replica Whether to read from a replica.
+     * @return The session, or null if not found.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private Session readSession(String key, boolean replica) {
+
+        RedisTemplate<String, Session> sessionReads = sessionReadRouter.sessionReads(replica);
+
+        if(!isHashStorage()) {
+            return sessionReads.opsForValue().get(key);
+        }
+
+        try {
+            return SessionHashMapper.fromValues(sessionReadRouter.stringReads(replica).<String, String>opsForHash().multiGet(key, SessionHashMapper.FIELDS));
+        } catch (DataAccessException e) {
+            if(!isWrongType(e)) {
+                throw e;
+            }
+
+            // Legacy value written before the switch to hash storage
+            return sessionReads.opsForValue().get(key);
+        }
+    }
+
+    /**
+     * A method to read several sessions in one round trip, in the
+     * configured storage format. Missing sessions are returned as null,
+     * in hash storage keys still holding legacy values are read after.
+     *
+     * @param keys The session keys.
+     * @param replica Whether to read from a replica.
+     * @return The sessions, in the same order as the keys.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private List<Session> readSessions(List<String> keys, boolean replica) {
+
+        RedisTemplate<String, Session> sessionReads = sessionReadRouter.sessionReads(replica);
+
+        if(!isHashStorage()) {
+            return sessionReads.opsForValue().multiGet(keys);
+        }
+
+        byte[][] fields = SessionHashMapper.FIELDS.stream()
+                .map(SessionRepositoryImpl::toBytes)
+                .toArray(byte[][]::new);
+
+        List<Object> results;
+
+        try {
+            results = sessionReadRouter.stringReads(replica).executePipelined((RedisCallback<Object>) connection -> {
+                for(String key : keys) {
+                    connection.hashCommands().hMGet(toBytes(key), fields);
+                }
+                return null;
+            });
+        } catch (RedisPipelineException e) {
+            // A failed command only fails its own entry, the other results are intact
+            results = e.getPipelineResult();
+
+            if(results == null || results.size() != keys.size()) {
+                throw e;
+            }
+
+            for(Object result : results) {
+                if(result instanceof Exception failure && !isWrongType(failure)) {
+                    throw e;
+                }
+            }
+        }
+
+        List<Session> sessions = new ArrayList<>(keys.size());
+        List<Integer> legacy = new ArrayList<>();
+
+        for(int i = 0; i < results.size(); i++) {
+            Object result = results.get(i);
+
+            if(result instanceof Exception) {
+                // Legacy value written before the switch to hash storage
+                legacy.add(i);
+                sessions.add(null);
+            } else {
+                sessions.add(SessionHashMapper.fromValues(decodeValues(result)));
+            }
+        }
+
+        if(!legacy.isEmpty()) {
+            List<Session> legacySessions = sessionReads.opsForValue().multiGet(
+                    legacy.stream().map(keys::get).toList()
+            );
+
+            for(int i = 0; legacySessions != null && i < legacy.size(); i++) {
+                sessions.set(legacy.get(i), legacySessions.get(i));
+            }
+        }
+
+        return sessions;
+    }
+
+    /**
+     * A method to read the hashed session IDs of an account index. The
+     * index is a sorted set, sets written before the switch are still read.
+     *
+     * @param key The account session index key.
+     * @param replica Whether to read from a replica.
+     * @return The hashed session IDs, oldest first.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private Set<String> readIndex(String key, boolean replica) {
+
+        StringRedisTemplate stringReads = sessionReadRouter.stringReads(replica);
+
+        try {
+            return stringReads.opsForZSet().range(key, 0, -1);
+        } catch (DataAccessException e) {
+            if(!isWrongType(e)) {
+                throw e;
+            }
+
+            return stringReads.opsForSet().members(key);
+        }
+    }
+
+    /**
+     * A method to remove hashed session IDs from an account index in
+     * one call, whether it is still a legacy set or already a sorted set.
+     *
+     * @param key The account session index key.
+     * @param hashedSessionIds The hashed IDs of the sessions.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private void removeFromIndex(String key, String... hashedSessionIds) {
+        try {
+            stringRedisTemplate.opsForZSet().remove(key, (Object[]) hashedSessionIds);
+        } catch (DataAccessException e) {
+            if(!isWrongType(e)) {
+                throw e;
+            }
+
+            stringRedisTemplate.opsForSet().remove(key, (Object[]) hashedSessionIds);
+        }
+    }
+
+    private boolean isHashStorage() {
+        return "hash".equalsIgnoreCase(sessionStorage);
+    }
+
+    // A key holding another data type
+    private static boolean isWrongType(Throwable e) {
+        return hasError(e, "WRONGTYPE");
+    }
+
+    // A script SHA the server has not cached
+    private static boolean isNoScript(Throwable e) {
+        return hasError(e, "NOSCRIPT");
+    }
+
+    /**
+     * A method to check if a failure was caused by a Redis error reply.
+     * The Redis error is usually wrapped, so the whole cause chain is
+     * checked.
+     *
+     * @param e The failure.
+     * @param error The error code, e.g. WRONGTYPE.
+     * @return true if Redis replied with the error.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private static boolean hasError(Throwable e, String error) {
+        for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if(cause.getMessage() != null && cause.getMessage().contains(error)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A method to decode the values of a pipelined HMGET. Results are
+     * deserialized when the pipeline succeeds, but left raw when it
+     * throws.
+     *
+     * @param result The pipeline result of the HMGET.
+     * @return The values as strings, missing fields as null.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private static List<String> decodeValues(Object result) {
+
+        if(!(result instanceof List<?> values)) {
+            return null;
+        }
+
+        List<String> decoded = new ArrayList<>(values.size());
 
-        List<Session> sessions = findAllByAccountId(accountId);
-        for(Session session : sessions) {
-            delete(session);
+        for(Object value : values) {
+            decoded.add(value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) value);
         }
 
+        return decoded;
+    }
+
+    /**
+     * A method to serialize a session with the value serializer
+     * configured on the session template, so script written values
+     * are read back exactly like values written through the template.
+     *
+     * @param session The session to be serialized.
+     * @return The serialized session bytes.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    @SuppressWarnings("unchecked")
+    private byte[] serializeSession(Session session) {
+        RedisSerializer<Session> serializer = (RedisSerializer<Session>) sessionRedisTemplate.getValueSerializer();
+        return serializer.serialize(session);
+    }
+
+    /**
+     * A method to encode a script argument as UTF-8 bytes.
+     *
+     * @param value The value to be encoded.
+     * @return The encoded bytes.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 
 }
@@ -1,18 +1,21 @@
 package com.iforddow.authservice.auth.service;
 
+import com.iforddow.authservice.auth.cache.AccountCache;
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-
 /**
 * A service class for locking accounts. This will be expanded
 * in the future to give admin level support. But for now, used
-* in the authentication service to lock accounts after too many
-* failed login attempts.
+* in the authentication service to block accounts after too many
+* lockouts.
+*
+* Temporary lockouts after failed login attempts are kept in Redis
+* only, see LoginAttemptService, the account row is only written
+* for a permanent block and when lifting one.
 *
 * @author IFD
 * @since 2025-12-05
@@ -22,25 +25,32 @@ import java.time.Instant;
 public class AccountLockService {
 
     private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
+    private final LoginAttemptService loginAttemptService;
 
     /**
-    * A method to lock an account until a specified time.
+    * A method to block an account until it is unlocked by support.
     *
-    * @param account The account to be locked.
-    * @param lockTime The time until which the account will be locked.
+    * @param account The account to be blocked.
     *
     * @author IFD
-    * @since 2025-12-05
+    * @since 2026-10-17
     * */
     @Transactional
-    public void lockAccount(Account account, Instant lockTime) {
-        account.setLocked(true);
-        account.setLockedUntil(lockTime);
-        accountRepository.save(account);
+    public void blockAccount(Account account) {
+
+        // The given account may be a cached snapshot, so the change is made on the current row
+        Account current = accountRepository.findById(account.getId()).orElse(account);
+
+        current.setLocked(true);
+        current.setLockedUntil(null);
+        accountRepository.save(current);
+        accountCache.evict(current);
     }
 
     /**
-    * A method to unlock an account.
+    * A method to unlock an account, lifting both a temporary
+    * lock and a permanent block.
     *
     * @param account The account to be unlocked.
     *
@@ -49,8 +59,16 @@ public class AccountLockService {
     * */
     @Transactional
     public void unlockAccount(Account account) {
-        account.setLocked(false);
-        account.setLockedUntil(null);
-        accountRepository.save(account);
+
+        loginAttemptService.unlock(account.getId());
+
+        if(account.getLocked()) {
+            Account current = accountRepository.findById(account.getId()).orElse(account);
+
+            current.setLocked(false);
+            current.setLockedUntil(null);
+            accountRepository.save(current);
+            accountCache.evict(current);
+        }
     }
 }
@@ -1,11 +1,13 @@
 package com.iforddow.authservice.auth.service;
 
+import com.iforddow.authservice.auth.cache.AccountCache;
+import com.iforddow.authservice.auth.cache.RegisteredEmailFilter;
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import com.iforddow.authservice.auth.factory.SessionFactory;
-import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
 import com.iforddow.authservice.auth.request.LoginRequest;
 import com.iforddow.authservice.common.exception.TooManyRequests;
-import com.iforddow.authservice.common.utility.CheckMax;
+import com.iforddow.authservice.common.ratelimit.LocalRateLimiter;
+import com.iforddow.authservice.common.utility.AuthServiceUtility;
 import com.iforddow.authservice.common.utility.DeviceType;
 import com.iforddow.authservice.auth.validator.CredentialValidator;
 import com.iforddow.authservice.common.exception.BadRequestException;
@@ -18,7 +20,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -38,29 +39,18 @@ import java.util.Collections;
 @Service
 public class AuthenticationService {
 
-    private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
     private final SessionFactory sessionFactory;
     private final CredentialValidator credentialValidator;
-    private final CheckMax checkMax;
-    private final StringRedisTemplate stringRedisTemplate;
     private final AccountLockService accountLockService;
+    private final LoginAttemptService loginAttemptService;
+    private final PasswordUpgradeService passwordUpgradeService;
+    private final LocalRateLimiter localRateLimiter;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     @Value("${session.cookie.name}")
     private String cookieName;
 
-    // Properties for login attempt tracking
-    @Value("${redis.login.attempt.counter.prefix}")
-    private String loginAttemptCounterPrefix;
-
-    @Value("${redis.login.attempt.counter.ttl.seconds}")
-    private int loginAttemptCounterTtlSeconds;
-
-    @Value("${auth.max.login.attempts}")
-    private int maxLoginAttempts;
-
-    @Value("${auth.lockout.duration.minutes}")
-    private int lockoutDurationMinutes;
-
     /**
      * A method to handle account login.
      *
@@ -75,12 +65,20 @@ public class AuthenticationService {
             throw new BadRequestException("Invalid device type");
         }
 
-        // Ensure account exists
-        Account account = accountRepository.findAccountByEmail(loginRequest.getEmail()).orElseThrow(
+        // Turn away login floods on this node before any Redis or database access
+        localRateLimiter.acquire(request.getRemoteAddr(), AuthServiceUtility.normalizeEmail(loginRequest.getEmail()));
+
+        // Ensure account exists, unregistered emails are turned away without a database lookup
+        if(!registeredEmailFilter.mightExist(loginRequest.getEmail())) {
+            throw new ResourceNotFoundException("Account email not found");
+        }
+
+        Account account = accountCache.findByEmail(loginRequest.getEmail()).orElseThrow(
                 () -> new ResourceNotFoundException("Account email not found")
         );
 
-        // Check and handle account lock status
+        // Check and handle a block, the only lock state kept in the database. Rows
+        // with a lockedUntil were locked before temporary locks moved to Redis
         if(account.getLocked()) {
             if(account.getLockedUntil() != null && Instant.now().isAfter(account.getLockedUntil())) {
                 accountLockService.unlockAccount(account);
@@ -91,28 +89,32 @@ public class AuthenticationService {
             }
         }
 
-        // Check for maximum login attempts
-        String key = loginAttemptCounterPrefix + loginRequest.getEmail();
+        // Check the lock and reserve a login attempt, the check, increment and lockout decision are one atomic call
+        LoginAttemptService.LoginAttempt attempt = loginAttemptService.attempt(account.getId());
 
-        // If max attempts reached, lock the account
-        if(checkMax.getAttempts(key) >= maxLoginAttempts) {
+        if(attempt.verdict() == LoginAttemptService.Verdict.BLOCKED) {
 
-            Instant lockTime = Instant.now().plus(Duration.ofMinutes(lockoutDurationMinutes));
+            // Only the attempt that crossed the lockout limit persists the block
+            accountLockService.blockAccount(account);
 
-            stringRedisTemplate.delete(key);
-            accountLockService.lockAccount(account, lockTime);
+            throw new BadRequestException("Account is currently locked until: INDEFINITE");
+        }
 
-            throw new TooManyRequests("Too many login attempts, account is now locked until: " + lockTime.toString());
+        if(attempt.verdict() == LoginAttemptService.Verdict.LOCKED) {
+            throw new TooManyRequests("Too many login attempts, account is locked until: " + attempt.lockedUntil().toString(),
+                    Duration.between(Instant.now(), attempt.lockedUntil()));
         }
 
-        // Validate credentials and handle login attempts
+        // Validate credentials, a failed attempt stays counted
         if(!credentialValidator.validate(account, loginRequest.getPassword())) {
-
-            checkMax.increaseAttempts(key, loginAttemptCounterTtlSeconds);
-
             throw new InvalidCredentialsException("Invalid credentials");
         }
 
+        loginAttemptService.succeeded(account.getId());
+
+        // Move an outdated password hash to the current policy, in the background
+        passwordUpgradeService.upgradeIfNeeded(account, loginRequest.getPassword());
+
         // Create new session for the account
         Session newSession = sessionFactory.createAccountSession(account, request);
 
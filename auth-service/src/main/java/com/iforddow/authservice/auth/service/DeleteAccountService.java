@@ -1,6 +1,7 @@
 package com.iforddow.authservice.auth.service;
 
 import com.iforddow.authservice.application.events.DeleteAccountEvent;
+import com.iforddow.authservice.auth.cache.AccountCache;
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
 import com.iforddow.authservice.auth.repository.redis.SessionRepositoryImpl;
@@ -34,6 +35,7 @@ import java.util.UUID;
 public class DeleteAccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
     private final ApplicationEventPublisher eventPublisher;
     private final AuthProperties authProperties;
 
@@ -58,6 +60,7 @@ public class DeleteAccountService {
 
         // Delete all sessions for the account
         accountRepository.delete(account);
+        accountCache.evict(account);
 
         // Publish account deletion event
         eventPublisher.publishEvent(new DeleteAccountEvent(accountId));
@@ -1,12 +1,12 @@
 package com.iforddow.authservice.auth.service;
 
+import com.iforddow.authservice.auth.cache.AccountCache;
+import com.iforddow.authservice.auth.cache.RegisteredEmailFilter;
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
-import com.iforddow.authservice.common.exception.BadRequestException;
 import com.iforddow.authservice.common.exception.ResourceNotFoundException;
 import com.iforddow.authservice.common.service.MailService;
-import com.iforddow.authservice.common.utility.CheckMax;
-import com.iforddow.authservice.common.utility.CodeGenerator;
+import com.iforddow.authservice.common.utility.SecureTokenGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -30,7 +30,9 @@ public class EmailVerificationService {
     private final StringRedisTemplate stringRedisTemplate;
     private final SpringTemplateEngine templateEngine;
     private final MailService mailService;
-    private final CheckMax checkMax;
+    private final SecureTokenGenerator secureTokenGenerator;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AccountCache accountCache;
 
     // Properties for email verification codes
     @Value("${redis.email.verification.code.prefix}")
@@ -39,16 +41,6 @@ public class EmailVerificationService {
     @Value("${redis.email.verification.code.ttl.seconds}")
     private int verificationCodeTtlSeconds;
 
-    // Properties for limiting verification code requests
-    @Value("${redis.email.verification.code.attempts.prefix}")
-    private String verificationCodeAttemptsPrefix;
-
-    @Value("${redis.email.verification.code.ttl.attempts.seconds}")
-    private int verificationCodeAttemptsTtlSeconds;
-
-    @Value("${auth.max.email.verification.code.requests.per.hour}")
-    private int maxVerificationCodeRequestsPerHour;
-
     /**
     * A method to verify an email using a verification code.
     *
@@ -70,6 +62,7 @@ public class EmailVerificationService {
         account.setUserVerified(true);
 
         accountRepository.save(account);
+        accountCache.evict(account);
     }
 
     /**
@@ -80,15 +73,13 @@ public class EmailVerificationService {
      * */
     public void sendVerificationEmail(String email) {
 
-        Account account = accountRepository.findAccountByEmail(email).orElseThrow(() -> new ResourceNotFoundException("Account with provided email not found"));
-
-        //Check to make sure max attempts not exceeded
-        String attemptsKey = verificationCodeAttemptsPrefix + email;
-
-        if(checkMax.maxReached(attemptsKey, maxVerificationCodeRequestsPerHour, verificationCodeAttemptsTtlSeconds)) {
-            throw new BadRequestException("Maximum verification email attempts exceeded. Please try again later.");
+        // Unregistered emails are turned away without a database lookup
+        if(!registeredEmailFilter.mightExist(email)) {
+            throw new ResourceNotFoundException("Account with provided email not found");
         }
 
+        Account account = accountCache.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("Account with provided email not found"));
+
         String verificationCode = createEmailVerificationCode(email);
 
         Context context = new Context();
@@ -112,7 +103,7 @@ public class EmailVerificationService {
      * @since 2025-12-04
      * */
     public String createEmailVerificationCode(String email) {
-        String code = CodeGenerator.generateRandomCode();
+        String code = secureTokenGenerator.numericCode(6);
 
         String key = verificationCodePrefix + email;
 
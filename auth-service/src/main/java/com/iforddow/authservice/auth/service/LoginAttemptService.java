@@ -0,0 +1,157 @@
+package com.iforddow.authservice.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+* A service class to limit login attempts per account. The lock check,
+* the increment and the lockout decision are a single Redis script call,
+* so a failed login costs one round trip and concurrent requests cannot
+* race past the limit.
+*
+* Temporary locks live in Redis only and end with their TTL. After
+* auth.max.lockouts.until.blocked lockouts the account is blocked for
+* good, which the caller persists in the database. Until it is unlocked
+* the account also stays locked in Redis, so a failed database write
+* does not give the attempts a fresh start.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Service
+@RequiredArgsConstructor
+public class LoginAttemptService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> loginAttemptScript;
+
+    @Value("${redis.login.attempt.counter.prefix}")
+    private String loginAttemptCounterPrefix;
+
+    @Value("${redis.login.attempt.counter.ttl.seconds}")
+    private int loginAttemptCounterTtlSeconds;
+
+    @Value("${redis.login.lock.prefix}")
+    private String loginLockPrefix;
+
+    @Value("${redis.login.lockout.counter.prefix}")
+    private String lockoutCounterPrefix;
+
+    @Value("${redis.login.lockout.counter.ttl.seconds}")
+    private int lockoutCounterTtlSeconds;
+
+    @Value("${auth.max.login.attempts}")
+    private int maxLoginAttempts;
+
+    @Value("${auth.lockout.duration.minutes}")
+    private int lockoutDurationMinutes;
+
+    @Value("${auth.max.lockouts.until.blocked}")
+    private int maxLockoutsUntilBlocked;
+
+    public enum Verdict {
+        ALLOWED,
+        LOCKED,
+        BLOCKED
+    }
+
+    /**
+    * The outcome of reserving a login attempt.
+    *
+    * @param verdict Whether the attempt may go ahead, see the login-attempt script.
+    * @param attempts The number of attempts in the current window.
+    * @param lockedUntil When the lock ends, null unless locked.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public record LoginAttempt(Verdict verdict, long attempts, Instant lockedUntil) {
+    }
+
+    /**
+    * A method to check the lock of an account and reserve
+    * a login attempt before the password is checked.
+    *
+    * @param accountId The account the login is for.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @SuppressWarnings("unchecked")
+    public LoginAttempt attempt(UUID accountId) {
+
+        if(maxLoginAttempts == -1) {
+            return new LoginAttempt(Verdict.ALLOWED, 0, null);
+        }
+
+        List<String> result = stringRedisTemplate.execute(
+                loginAttemptScript,
+                keys(accountId),
+                String.valueOf(maxLoginAttempts),
+                String.valueOf(loginAttemptCounterTtlSeconds),
+                String.valueOf(Duration.ofMinutes(lockoutDurationMinutes).toSeconds()),
+                String.valueOf(maxLockoutsUntilBlocked),
+                String.valueOf(lockoutCounterTtlSeconds)
+        );
+
+        Verdict verdict = Verdict.valueOf(result.get(0));
+        long attempts = Long.parseLong(result.get(1));
+
+        Instant lockedUntil = verdict == Verdict.LOCKED
+                ? Instant.now().plusSeconds(Long.parseLong(result.get(2)))
+                : null;
+
+        return new LoginAttempt(verdict, attempts, lockedUntil);
+    }
+
+    /**
+    * A method to clear the attempts after a successful login, so the
+    * reserved attempt does not count against the account. Lockouts stay
+    * counted, a login between bursts must not reset the way to a block.
+    *
+    * @param accountId The account the login was for.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void succeeded(UUID accountId) {
+        if(maxLoginAttempts != -1) {
+            stringRedisTemplate.delete(counterKey(accountId));
+        }
+    }
+
+    /**
+    * A method to lift a temporary lock and clear the attempts of an account.
+    *
+    * @param accountId The account to unlock.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void unlock(UUID accountId) {
+        stringRedisTemplate.delete(keys(accountId));
+    }
+
+    private List<String> keys(UUID accountId) {
+        return List.of(counterKey(accountId), loginLockPrefix + tag(accountId), lockoutCounterPrefix + tag(accountId));
+    }
+
+    private String counterKey(UUID accountId) {
+        return loginAttemptCounterPrefix + tag(accountId);
+    }
+
+    // The account ID as hash tag, so all keys of an account share a cluster slot
+    private static String tag(UUID accountId) {
+        return "{" + accountId + "}";
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.iforddow.authservice.auth.service;
 
-import com.iforddow.authservice.auth.repository.redis.SessionRepositoryImpl;
+import com.iforddow.authservice.auth.repository.AccountSessionRepository;
 import com.iforddow.authservice.auth.request.LogoutRequest;
 import com.iforddow.authservice.common.exception.BadRequestException;
 import com.iforddow.authservice.common.utility.AuthServiceUtility;
@@ -27,7 +27,7 @@ import java.util.UUID;
 public class LogoutService {
 
     private final FilterUtility filterUtility;
-    private final SessionRepositoryImpl sessionRepository;
+    private final AccountSessionRepository sessionRepository;
     private final AuthProperties authProperties;
 
     /**
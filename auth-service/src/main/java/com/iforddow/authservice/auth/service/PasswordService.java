@@ -1,5 +1,7 @@
 package com.iforddow.authservice.auth.service;
 
+import com.iforddow.authservice.auth.cache.AccountCache;
+import com.iforddow.authservice.auth.cache.RegisteredEmailFilter;
 import com.iforddow.authservice.auth.entity.jpa.Account;
 import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
 import com.iforddow.authservice.auth.request.ChangePasswordRequest;
@@ -10,8 +12,7 @@ import com.iforddow.authservice.common.exception.PasswordValidationException;
 import com.iforddow.authservice.common.exception.ResourceNotFoundException;
 import com.iforddow.authservice.common.service.MailService;
 import com.iforddow.authservice.common.utility.AuthServiceUtility;
-import com.iforddow.authservice.common.utility.CheckMax;
-import com.iforddow.authservice.common.utility.CodeGenerator;
+import com.iforddow.authservice.common.utility.SecureTokenGenerator;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,7 +42,9 @@ public class PasswordService {
     private final MailService mailService;
     private final StringRedisTemplate stringRedisTemplate;
     private final SpringTemplateEngine templateEngine;
-    private final CheckMax checkMax;
+    private final SecureTokenGenerator secureTokenGenerator;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AccountCache accountCache;
 
     // Properties for password reset codes
     @Value("${redis.password.reset.code.prefix}")
@@ -50,16 +53,6 @@ public class PasswordService {
     @Value("${redis.password.reset.code.ttl.seconds}")
     private int resetCodeTtlSeconds;
 
-    // Properties for limiting password reset attempts
-    @Value("${redis.password.reset.code.attempts.prefix}")
-    private String resetPasswordAttemptsPrefix;
-
-    @Value("${redis.password.reset.code.ttl.attempts.seconds}")
-    private int resetPasswordAttemptsTtlSeconds;
-
-    @Value("${auth.max.password.reset.requests.per.hour}")
-    private int maxPasswordResetRequestsPerHour;
-
     /**
     * A method to change the password of the currently authenticated account.
     *
@@ -95,6 +88,7 @@ public class PasswordService {
 
         // Save the updated account
         accountRepository.save(account);
+        accountCache.evict(account);
 
     }
 
@@ -106,18 +100,16 @@ public class PasswordService {
     * */
     public void initiatePasswordReset(String email) {
 
-        //Get account by ID
-        Account account = accountRepository.findAccountByEmail(email).orElseThrow(() -> new ResourceNotFoundException("Account with provided email not found"));
-
-        //Check to make sure max attempts not exceeded
-        String attemptsKey = resetPasswordAttemptsPrefix + account.getId();
-
-        if(checkMax.maxReached(attemptsKey, maxPasswordResetRequestsPerHour, resetPasswordAttemptsTtlSeconds)) {
-            throw new BadRequestException("Maximum password reset requests reached. Please try again later.");
+        // Unregistered emails are turned away without a database lookup
+        if(!registeredEmailFilter.mightExist(email)) {
+            throw new ResourceNotFoundException("Account with provided email not found");
         }
 
+        //Get account by ID
+        Account account = accountCache.findByEmail(email).orElseThrow(() -> new ResourceNotFoundException("Account with provided email not found"));
+
         // Generate verification code
-        String generatedVerificationCode = CodeGenerator.generateRandomCode();
+        String generatedVerificationCode = secureTokenGenerator.numericCode(6);
 
         // Store verification code in Redis
         String key = resetCodePrefix + account.getId();
@@ -201,6 +193,7 @@ public class PasswordService {
 
         // Save the updated account
         accountRepository.save(account);
+        accountCache.evict(account);
 
     }
 
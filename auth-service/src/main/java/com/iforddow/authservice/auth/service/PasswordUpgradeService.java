@@ -0,0 +1,163 @@
+package com.iforddow.authservice.auth.service;
+
+import com.iforddow.authservice.auth.cache.AccountCache;
+import com.iforddow.authservice.auth.entity.jpa.Account;
+import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
+import com.iforddow.authservice.common.security.PasswordHashPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+* A service class to move stored password hashes to the current
+* hashing policy version, see PasswordHashPolicy.
+*
+* The raw password is only known at login, so an outdated hash is
+* rehashed right after a successful login, off the request thread. A
+* rehash competes with logins for the hashing pool and is simply skipped
+* when the pool is busy, the next login tries again.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${password.hash.upgrade.enabled}")
+    private boolean enabled;
+
+    @Value("${password.hash.upgrade.max.in.flight}")
+    private int maxInFlight;
+
+    private ExecutorService executor;
+    private Semaphore inFlight;
+
+    private Counter upgraded;
+    private Counter skipped;
+    private Counter failed;
+    private MultiGauge accountsPerVersion;
+
+    /**
+    * A method to start the rehash executor and register metrics.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+
+        // The rehash itself runs on the hashing pool, these threads only wait for it
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        inFlight = new Semaphore(maxInFlight);
+
+        upgraded = meterRegistry.counter("password.hash.upgrades", "result", "upgraded");
+        skipped = meterRegistry.counter("password.hash.upgrades", "result", "skipped");
+        failed = meterRegistry.counter("password.hash.upgrades", "result", "failed");
+        accountsPerVersion = MultiGauge.builder("password.hash.accounts")
+                .description("Accounts per password hash version")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+    * A method to rehash the password of an account in the background
+    * if its stored hash is not on the current policy version. Must only
+    * be called after the password was verified.
+    *
+    * @param account The account that just logged in.
+    * @param rawPassword The verified raw password.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public void upgradeIfNeeded(Account account, String rawPassword) {
+
+        String oldHash = account.getPassword();
+
+        if(!enabled || !passwordEncoder.upgradeEncoding(oldHash)) {
+            return;
+        }
+
+        // Bounded, so a login burst of outdated accounts cannot flood the hashing pool
+        if(!inFlight.tryAcquire()) {
+            skipped.increment();
+            return;
+        }
+
+        executor.execute(() -> {
+            try {
+                String newHash = passwordEncoder.encode(rawPassword);
+
+                // Leaves the hash alone if the password was changed meanwhile
+                if(accountRepository.updatePasswordIfUnchanged(account.getId(), oldHash, newHash) == 1) {
+                    accountCache.evict(account);
+                    upgraded.increment();
+                } else {
+                    skipped.increment();
+                }
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("Failed to upgrade password hash of account {}: {}", account.getId(), e.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+    * A scheduled method to count the accounts on each hash version,
+    * showing how far a policy change has rolled out.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Scheduled(fixedDelayString = "${password.hash.version.metrics.interval.ms}")
+    public void recordVersions() {
+
+        Map<String, Long> counts = new TreeMap<>();
+
+        try {
+            for(Object[] row : accountRepository.countByPasswordVersion()) {
+                String version = row[0] != null ? (String) row[0] : PasswordHashPolicy.LEGACY_VERSION;
+                counts.merge(version, ((Number) row[1]).longValue(), Long::sum);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to count password hash versions: {}", e.getMessage());
+            return;
+        }
+
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(counts.size());
+        counts.forEach((version, count) -> rows.add(MultiGauge.Row.of(Tags.of("version", version), count)));
+
+        accountsPerVersion.register(rows, true);
+    }
+
+}
@@ -1,12 +1,16 @@
 // Java
 package com.iforddow.authservice.common.config;
 
+import com.iforddow.authservice.auth.cache.AccountCache;
+import com.iforddow.authservice.auth.entity.jpa.Account;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.*;
 import tools.jackson.databind.ObjectMapper;
 
@@ -22,16 +26,38 @@ import java.time.Duration;
 public class RedisConfig {
 
 
+    /**
+    * A cache manager for Redis backed caches. The accounts cache,
+    * see AccountCache, stores typed Account values with its own TTL,
+    * never longer than the local TTL as they hold password hashes.
+    *
+    * @param connectionFactory The Redis connection factory.
+    * @param objectMapper The ObjectMapper for serialization.
+    * @param accountCacheTtlSeconds How long accounts stay in Redis.
+    * @param accountLocalTtlSeconds How long accounts stay in the node-local cache.
+    *
+    * @return RedisCacheManager
+    *
+    * @author IFD
+    * @since 2025-11-17
+    * */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                          @Value("${account.cache.ttl.seconds}") long accountCacheTtlSeconds,
+                                          @Value("${account.cache.local.ttl.seconds}") long accountLocalTtlSeconds) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJacksonJsonRedisSerializer(objectMapper)))
                 .disableCachingNullValues();
 
+        RedisCacheConfiguration accountConfig = config
+                .entryTtl(Duration.ofSeconds(Math.min(accountCacheTtlSeconds, accountLocalTtlSeconds)))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new JacksonJsonRedisSerializer<>(objectMapper, Account.class)));
+
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withCacheConfiguration(AccountCache.CACHE_NAME, accountConfig)
                 .transactionAware()
                 .build();
     }
@@ -62,6 +88,25 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    /**
+    * A listener container for Redis pub/sub channels. Components
+    * register their own listeners on it, e.g. cache invalidations.
+    *
+    * @param factory The Redis connection factory.
+    *
+    * @return RedisMessageListenerContainer
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+
+        return container;
+    }
+
     /**
      * A RedisTemplate bean specifically for Session objects.
      *
@@ -0,0 +1,113 @@
+package com.iforddow.authservice.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+* A configuration class for the Lua scripts executed against Redis.
+* Scripts live under resources/scripts/redis and are loaded once, Spring
+* will run them via EVALSHA and fall back to EVAL when not yet cached.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Configuration
+public class RedisScriptConfig {
+
+    /**
+    * A script to store a session, its expiry and its account
+    * index entry, and evict the oldest sessions of the account
+    * beyond the limit, in a single atomic round trip.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> sessionSaveScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/session-save.lua"), List.class);
+    }
+
+    /**
+    * A script to store a session as a Redis hash, its expiry and its
+    * account index entry, and evict the oldest sessions of the account
+    * beyond the limit, in a single atomic round trip.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> sessionSaveHashScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/session-save-hash.lua"), List.class);
+    }
+
+    /**
+    * A script to slide the expiry of a hash stored session by
+    * updating only its expiresAt field.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    public RedisScript<Long> sessionRefreshHashScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/session-refresh-hash.lua"), Long.class);
+    }
+
+    /**
+    * A script to revoke every session of an account, and its
+    * session index, in a single atomic round trip.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> sessionRevokeAllScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/session-revoke-all.lua"), List.class);
+    }
+
+    /**
+    * A script to prune dead session IDs from a single account
+    * session index.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> sessionIndexSweepScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/session-index-sweep.lua"), List.class);
+    }
+
+    /**
+    * A script to check the lock of an account, reserve a login attempt
+    * and decide on a lockout in a single atomic round trip.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> loginAttemptScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/login-attempt.lua"), List.class);
+    }
+
+    /**
+    * A script to check and consume the GCRA rate limits of a request
+    * in a single atomic round trip, see RateLimiter.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> rateLimitScript() {
+        return RedisScript.of(new ClassPathResource("scripts/redis/rate-limit-gcra.lua"), List.class);
+    }
+
+}
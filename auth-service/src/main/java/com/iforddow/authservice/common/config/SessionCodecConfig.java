@@ -0,0 +1,44 @@
+package com.iforddow.authservice.common.config;
+
+import com.iforddow.authservice.auth.repository.redis.SessionRedisSerializer;
+import com.iforddow.authsession.entity.Session;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+* A configuration class to select the codec used for Session values
+* stored in Redis. The session template itself is provided by the
+* Session dependency package, so the serializer is swapped in place.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Configuration
+@RequiredArgsConstructor
+public class SessionCodecConfig {
+
+    private final RedisTemplate<String, Session> sessionRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${session.redis.codec}")
+    private String sessionCodec;
+
+    /**
+    * A method to apply the binary session codec when configured.
+    * The binary codec still reads legacy JSON values.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @PostConstruct
+    public void init() {
+        if("binary".equalsIgnoreCase(sessionCodec)) {
+            sessionRedisTemplate.setValueSerializer(new SessionRedisSerializer(objectMapper));
+        }
+    }
+
+}
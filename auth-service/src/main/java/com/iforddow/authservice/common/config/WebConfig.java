@@ -1,8 +1,11 @@
 package com.iforddow.authservice.common.config;
 
+import com.iforddow.authservice.common.ratelimit.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,8 +16,11 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 * @since 2025-10-27
 * */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Value("${api.prefix}")
     private String apiPrefix;
 
@@ -29,4 +35,15 @@ public class WebConfig implements WebMvcConfigurer {
         configurer.addPathPrefix(apiPrefix, c -> c.isAnnotationPresent(RestController.class));
     }
 
+    /**
+    * Register the interceptor enforcing the RateLimit annotations of endpoints.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.iforddow.authservice.common.exception;
+
+/**
+ * ServiceUnavailableException - An exception that should be thrown
+ * when the service is temporarily overloaded and the request may
+ * be retried shortly.
+ *
+ * @author IFD
+ * @since 2026-10-17
+ * */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
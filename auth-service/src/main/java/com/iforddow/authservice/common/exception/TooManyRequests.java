@@ -1,7 +1,22 @@
 package com.iforddow.authservice.common.exception;
 
+import java.time.Duration;
+
 public class TooManyRequests extends RuntimeException {
+
+    // How long the client should wait before retrying, null if unknown
+    private final Duration retryAfter;
+
     public TooManyRequests(String message) {
+        this(message, null);
+    }
+
+    public TooManyRequests(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 }
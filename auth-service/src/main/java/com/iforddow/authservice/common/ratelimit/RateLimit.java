@@ -0,0 +1,51 @@
+package com.iforddow.authservice.common.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+* An annotation to rate limit an endpoint, enforced by RateLimitInterceptor
+* before the handler runs. Repeat it to limit by more than one key, the
+* request is only let through when every limit allows it.
+*
+* The limit and period accept property placeholders, so the values stay
+* in application.properties, e.g.
+* {@code @RateLimit(name = "password:reset", key = RateLimitKey.EMAIL,
+* limit = "${auth.max.password.reset.requests.per.hour}", period = "3600")}.
+* A limit of -1 disables it.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(RateLimits.class)
+public @interface RateLimit {
+
+    /**
+    * The name of the limit, used in the Redis key and in metrics.
+    * Endpoints sharing a name share their limits.
+    * */
+    String name();
+
+    /**
+    * What the requests are counted by.
+    * */
+    RateLimitKey key();
+
+    /**
+    * The number of requests allowed per period, -1 for unlimited.
+    * */
+    String limit();
+
+    /**
+    * The period in seconds.
+    * */
+    String period();
+
+}
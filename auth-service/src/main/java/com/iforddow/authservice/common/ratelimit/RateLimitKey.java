@@ -0,0 +1,47 @@
+package com.iforddow.authservice.common.ratelimit;
+
+import com.iforddow.authservice.common.utility.AuthServiceUtility;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+* What a rate limit counts requests by.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public enum RateLimitKey {
+
+    /**
+    * The client IP address.
+    * */
+    IP {
+        @Override
+        public String resolve(HttpServletRequest request) {
+            return request.getRemoteAddr();
+        }
+    },
+
+    /**
+    * The email request parameter, trimmed and lower-cased so
+    * case variations of one address share a limit.
+    * */
+    EMAIL {
+        @Override
+        public String resolve(HttpServletRequest request) {
+            return AuthServiceUtility.normalizeEmail(request.getParameter("email"));
+        }
+    };
+
+    /**
+    * A method to read the value requests are counted by.
+    *
+    * @param request The current request.
+    * @return The value, or null when the request does not carry it,
+    *         the limit is then not applied.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public abstract String resolve(HttpServletRequest request);
+
+}
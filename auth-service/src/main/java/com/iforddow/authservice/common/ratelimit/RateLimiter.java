@@ -0,0 +1,116 @@
+package com.iforddow.authservice.common.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* A component class implementing the rate limit engine. Limits are
+* enforced with the generic cell rate algorithm in Redis, see the
+* rate-limit-gcra script, so they hold across every node. A request
+* rejected by one limit does not use up another.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> rateLimitScript;
+
+    @Value("${redis.rate.limit.prefix}")
+    private String rateLimitPrefix;
+
+    /**
+    * A single limit to check.
+    *
+    * @param key What the requests are counted by.
+    * @param value The value of the key for this request, e.g. the client IP.
+    * @param limit The number of requests allowed per period.
+    * @param period The period.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public record Limit(RateLimitKey key, String value, int limit, Duration period) {
+    }
+
+    /**
+    * The outcome of a rate limit check.
+    *
+    * @param allowed Whether the request may go ahead, it is counted if so.
+    * @param remaining The requests left on the tightest limit, -1 if unknown.
+    * @param retryAfter How long until the request would be allowed, zero if allowed.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public record Decision(boolean allowed, long remaining, Duration retryAfter) {
+
+        static final Decision UNLIMITED = new Decision(true, -1, Duration.ZERO);
+
+    }
+
+    /**
+    * A method to check and consume the limits of a request in one
+    * atomic script call. The request is only counted if every limit
+    * allows it.
+    *
+    * @param name The name of the rate limit, see RateLimit.
+    * @param limits The limits to check, all of them must allow the request.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    @SuppressWarnings("unchecked")
+    public Decision acquire(String name, List<Limit> limits) {
+
+        if(limits.isEmpty()) {
+            return Decision.UNLIMITED;
+        }
+
+        List<String> keys = new ArrayList<>(limits.size());
+        List<String> args = new ArrayList<>(limits.size() * 2);
+
+        for(Limit limit : limits) {
+            keys.add(key(name, limit));
+            args.add(String.valueOf(limit.limit()));
+            args.add(String.valueOf(limit.period().toMillis()));
+        }
+
+        List<String> result = stringRedisTemplate.execute(rateLimitScript, keys, args.toArray());
+
+        Decision decision = "1".equals(result.get(0))
+                ? new Decision(true, Long.parseLong(result.get(1)), Duration.ZERO)
+                : new Decision(false, 0, Duration.ofMillis(Long.parseLong(result.get(2))));
+
+        meterRegistry.counter("rate.limit.requests", "name", name, "result", decision.allowed() ? "allowed" : "limited").increment();
+
+        return decision;
+    }
+
+    /**
+    * A method to build the Redis key of a limit. The name is the hash
+    * tag, so all keys of a request are in one slot and the script stays
+    * valid on a Redis cluster. Floods are turned away by LocalRateLimiter
+    * before they reach that slot.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    String key(String name, Limit limit) {
+        return rateLimitPrefix + "{" + name + "}:" + limit.key().name().toLowerCase() + ":" + limit.value();
+    }
+
+}
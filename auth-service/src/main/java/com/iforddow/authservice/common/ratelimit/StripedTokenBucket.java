@@ -0,0 +1,216 @@
+package com.iforddow.authservice.common.ratelimit;
+
+import com.iforddow.authservice.common.utility.KeyHashUtility;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+* A node-local set of token buckets, one per key. Keys are reduced to a
+* 64-bit hash and kept with their bucket in plain long and double arrays,
+* so tracking a key costs 24 bytes and no allocation.
+*
+* The table is split into lock striped segments of a fixed size. A key
+* may only sit in a short probe window of its segment. An idle bucket has
+* refilled completely and is the same as no bucket, so its slot is
+* reused. When the window holds no idle slot, the least recently used
+* bucket is dropped. The memory used is therefore bounded no matter how
+* many distinct keys a flood brings, at the cost of forgetting the odd
+* key, which only ever lets a request through.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class StripedTokenBucket {
+
+    private static final int PROBES = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final long idleNanos;
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+    * A constructor for the buckets.
+    *
+    * @param stripeCount The number of segments, rounded up to a power of two.
+    * @param entriesPerStripe The keys tracked per segment, rounded up to a power of two.
+    * @param capacity The burst size of a bucket.
+    * @param refillPerSecond The tokens added to a bucket per second.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public StripedTokenBucket(int stripeCount, int entriesPerStripe, int capacity, double refillPerSecond) {
+
+        if(stripeCount < 1 || entriesPerStripe < PROBES || capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Invalid token bucket configuration");
+        }
+
+        int stripeSize = powerOfTwo(stripeCount);
+        int entries = powerOfTwo(entriesPerStripe);
+
+        this.stripes = new Stripe[stripeSize];
+        this.stripeMask = stripeSize - 1;
+
+        for(int i = 0; i < stripeSize; i++) {
+            stripes[i] = new Stripe(entries);
+        }
+
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.idleNanos = (long) Math.ceil(capacity / refillPerNano);
+    }
+
+    /**
+    * A method to take a token from the bucket of a key.
+    *
+    * @param key The key, e.g. a client IP.
+    * @return Zero if a token was taken, otherwise the nanoseconds until one is available.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long tryAcquire(CharSequence key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(CharSequence key, long now) {
+
+        long hash = KeyHashUtility.hash(key);
+
+        // Zero marks an empty slot
+        if(hash == 0) {
+            hash = 1;
+        }
+
+        // High bits pick the segment, low bits the slot
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+
+        stripe.lock.lock();
+
+        try {
+            return stripe.acquire(hash, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+    * A method to get the number of slots holding a key,
+    * including idle ones not yet reused.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long size() {
+
+        long size = 0;
+
+        for(Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+
+        return size;
+    }
+
+    /**
+    * A method to get the number of active buckets dropped for lack of room.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+    * A segment of the table, only accessed under its lock.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final long[] keys;
+        private final double[] tokens;
+        private final long[] touched;
+        private final int mask;
+
+        private int size;
+
+        private Stripe(int entries) {
+            this.keys = new long[entries];
+            this.tokens = new double[entries];
+            this.touched = new long[entries];
+            this.mask = entries - 1;
+        }
+
+        private long acquire(long hash, long now) {
+
+            int start = (int) hash & mask;
+            int free = -1;
+            int oldest = -1;
+
+            for(int p = 0; p < PROBES; p++) {
+                int i = (start + p) & mask;
+
+                if(keys[i] == hash) {
+                    return take(i, now);
+                }
+
+                if(free == -1 && (keys[i] == 0 || now - touched[i] >= idleNanos)) {
+                    free = i;
+                } else if(oldest == -1 || touched[i] < touched[oldest]) {
+                    oldest = i;
+                }
+            }
+
+            int slot = free;
+
+            if(slot == -1) {
+                slot = oldest;
+                evictions.increment();
+            }
+
+            if(keys[slot] == 0) {
+                size++;
+            }
+
+            // A new key starts with a full bucket, less this request
+            keys[slot] = hash;
+            tokens[slot] = capacity - 1;
+            touched[slot] = now;
+
+            return 0;
+        }
+
+        private long take(int i, long now) {
+
+            double available = Math.min(capacity, tokens[i] + (now - touched[i]) * refillPerNano);
+
+            touched[i] = now;
+
+            if(available >= 1) {
+                tokens[i] = available - 1;
+                return 0;
+            }
+
+            tokens[i] = available;
+
+            return (long) Math.ceil((1 - available) / refillPerNano);
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package com.iforddow.authservice.common.security;
+
+import com.iforddow.authservice.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+* A PasswordEncoder decorator that runs hashing on a dedicated, bounded
+* pool instead of the request thread. A burst of logins then queues for
+* a fixed number of hashing threads rather than taking every request
+* thread and starving cheap endpoints like logout and session checks.
+*
+* A hash that cannot be queued, or has not started within the queue
+* timeout, fails fast with a ServiceUnavailableException (503). Once a
+* hash has started it always runs to completion.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long queueTimeoutNanos;
+
+    private final Timer encodeWait;
+    private final Timer matchesWait;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejected;
+
+    /**
+    * A constructor for the encoder.
+    *
+    * @param delegate The encoder doing the actual hashing.
+    * @param threads The number of hashing threads.
+    * @param queueCapacity The number of hashes allowed to wait for a thread.
+    * @param queueTimeoutMs How long a hash may wait for a thread.
+    * @param meterRegistry The registry for the pool metrics.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long queueTimeoutMs, MeterRegistry meterRegistry) {
+
+        this.delegate = delegate;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue, runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        encodeWait = waitTimer(meterRegistry, "encode");
+        matchesWait = waitTimer(meterRegistry, "matches");
+        encodeTime = hashTimer(meterRegistry, "encode");
+        matchesTime = hashTimer(meterRegistry, "matches");
+        rejected = meterRegistry.counter("password.hash.rejected");
+
+        Gauge.builder("password.hash.queue", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeWait, encodeTime);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesWait, matchesTime);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only parses the stored hash, cheap enough for the request thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+    * A method to run a hash on the pool and wait for its result.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    private <T> T submit(Supplier<T> hash, Timer waitTimer, Timer hashTimer) {
+
+        // Claimed by whichever comes first, the worker starting or the caller giving up
+        AtomicBoolean claimed = new AtomicBoolean();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+
+                if(!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+
+                try {
+                    result.complete(hash.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+
+        try {
+            return result.get(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+
+            if(claimed.compareAndSet(false, true)) {
+                throw overloaded();
+            }
+
+            // Already hashing, the result is moments away
+            return await(result);
+
+        } catch (InterruptedException e) {
+            claimed.set(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private ServiceUnavailableException overloaded() {
+        rejected.increment();
+        return new ServiceUnavailableException("Too many login attempts in progress, try again shortly");
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash.wait").tag("operation", operation).register(meterRegistry);
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hash.time").tag("operation", operation).register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.iforddow.authservice.common.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+* The versioned password hashing policy. Stored hashes are prefixed with
+* the version they were made with, e.g. {argon2-v2}$argon2id$..., and new
+* hashes use the version set in password.hash.version.
+*
+* To retune the hashing cost, add a version with the new parameters and
+* point password.hash.version at it. Existing hashes keep verifying and
+* are rehashed with the new version on the account's next login. Never
+* change or remove a version that hashes may still be stored under.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public final class PasswordHashPolicy {
+
+    // Hashes stored before versioning have no prefix and were made with these parameters
+    public static final String LEGACY_VERSION = "argon2-v1";
+
+    private PasswordHashPolicy() {
+    }
+
+    /**
+    * A method to get every known version and its encoder.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static Map<String, PasswordEncoder> versions() {
+
+        Map<String, PasswordEncoder> versions = new LinkedHashMap<>();
+
+        // 16 MiB, 2 iterations
+        versions.put(LEGACY_VERSION, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        // 19 MiB, 2 iterations, the OWASP minimum for argon2id
+        versions.put("argon2-v2", new Argon2PasswordEncoder(16, 32, 1, 19456, 2));
+
+        return versions;
+    }
+
+    /**
+    * A method to build the encoder for the policy.
+    *
+    * @param currentVersion The version new hashes are made with.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static PasswordEncoder encoder(String currentVersion) {
+
+        Map<String, PasswordEncoder> versions = versions();
+
+        if(!versions.containsKey(currentVersion)) {
+            throw new IllegalStateException("Unknown password hash version " + currentVersion);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(currentVersion, versions);
+        encoder.setDefaultPasswordEncoderForMatches(versions.get(LEGACY_VERSION));
+
+        return encoder;
+    }
+
+    /**
+    * A method to read the version of a stored hash.
+    *
+    * @param encodedPassword The stored hash.
+    * @return The version, or the legacy version for an unprefixed hash.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static String versionOf(String encodedPassword) {
+
+        if(encodedPassword == null || !encodedPassword.startsWith("{")) {
+            return LEGACY_VERSION;
+        }
+
+        int end = encodedPassword.indexOf('}');
+
+        return end > 0 ? encodedPassword.substring(1, end) : LEGACY_VERSION;
+    }
+
+}
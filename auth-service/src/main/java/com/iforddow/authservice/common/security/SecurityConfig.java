@@ -1,7 +1,9 @@
 package com.iforddow.authservice.common.security;
 
 import com.iforddow.authsession.filter.AuthFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,7 +13,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -56,14 +57,24 @@ public class SecurityConfig {
 
     /**
     * A password encoder for the app. Using Argon for strong
-    * password hashing.
+    * password hashing, versioned by PasswordHashPolicy, on a
+    * dedicated bounded pool so a burst of logins cannot take
+    * every request thread.
     *
     * @author IFD
     * @since 2025-10-27
     * */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.hash.threads}") int threads,
+                                           @Value("${password.hash.queue.capacity}") int queueCapacity,
+                                           @Value("${password.hash.queue.timeout.ms}") long queueTimeoutMs,
+                                           @Value("${password.hash.version}") String version) {
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        return new BoundedPasswordEncoder(PasswordHashPolicy.encoder(version),
+                poolSize, queueCapacity, queueTimeoutMs, meterRegistry);
     }
 
     /**
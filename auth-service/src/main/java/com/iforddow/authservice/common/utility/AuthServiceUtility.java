@@ -3,6 +3,7 @@ package com.iforddow.authservice.common.utility;
 import com.iforddow.authservice.common.exception.BadRequestException;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -24,6 +25,24 @@ public class AuthServiceUtility {
         return string == null || string.isEmpty();
     }
 
+    /**
+    * A method to normalise an email for use as a lookup or limit key,
+    * so case and whitespace variations of one address match.
+    *
+    * @return The trimmed, lower-cased email, or null for a blank one.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static String normalizeEmail(String email) {
+
+        if(email == null || email.isBlank()) {
+            return null;
+        }
+
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * A private method to get the currently authenticated account ID.
      *
@@ -1,27 +1,64 @@
 package com.iforddow.authservice.common.utility;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * A utility class for hashing operations.
  *
+ * Keyed Mac instances are pooled rather than held per thread, so the
+ * engine stays cheap under virtual threads where thread locals would
+ * create one Mac per request. A Mac is only created (cloned from a
+ * pre-keyed prototype) when the pool is empty.
+ *
  * @author IFD
  * @since 2025-11-09
  * */
 @Component
 public class HashUtility {
 
+    private static final Base64.Encoder BASE64 = Base64.getEncoder();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
     @Value("${hmac.algo}")
     private String hmacAlgo;
 
     @Value("${hmac.secret}")
     private String hmacSecret;
 
+    private Mac prototype;
+    private BlockingQueue<Mac> pool;
+
+    /**
+     * A method to key the prototype Mac once and size the pool.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    @PostConstruct
+    public void init() {
+
+        try {
+            prototype = Mac.getInstance(hmacAlgo);
+            prototype.init(new SecretKeySpec(hmacSecret.getBytes(StandardCharsets.UTF_8), hmacAlgo));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + hmacAlgo, e);
+        }
+
+        pool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
     /**
      * A method to hash a String using
      * SHA-256 algorithm.
@@ -30,20 +67,123 @@ public class HashUtility {
      * @since 2025-10-27
      * */
     public String hmacSha256(String str) {
+        return BASE64.encodeToString(hmacSha256(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A method to hash a String and encode it as URL-safe
+     * Base64 without padding.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    public String hmacSha256UrlSafe(String str) {
+        return BASE64_URL.encodeToString(hmacSha256(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A method to compute the raw HMAC of a byte array.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    public byte[] hmacSha256(byte[] input) {
+
+        Mac mac = borrow();
+
+        try {
+            return mac.doFinal(input);
+        } finally {
+            release(mac);
+        }
+    }
+
+    /**
+     * A method to compute the raw HMAC of the remaining bytes of a buffer.
+     * The buffer position is advanced to its limit.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    public byte[] hmacSha256(ByteBuffer input) {
+
+        Mac mac = borrow();
 
         try {
-            SecretKeySpec keySpec = new SecretKeySpec(hmacSecret.getBytes(), hmacAlgo);
-            Mac mac = Mac.getInstance(hmacAlgo);
-            mac.init(keySpec);
+            mac.update(input);
+            return mac.doFinal();
+        } finally {
+            release(mac);
+        }
+    }
 
-            byte[] rawHmac = mac.doFinal(str.getBytes());
+    /**
+     * A method to compute the raw HMAC of a byte array into a caller
+     * provided buffer, without allocating.
+     *
+     * @return The number of bytes written.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    public int hmacSha256(byte[] input, byte[] output, int offset) {
 
-            return Base64.getEncoder().encodeToString(rawHmac);
+        Mac mac = borrow();
 
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        try {
+            mac.update(input);
+            mac.doFinal(output, offset);
+            return mac.getMacLength();
+        } catch (ShortBufferException e) {
+            throw new IllegalArgumentException("Output buffer too small for HMAC", e);
+        } finally {
+            release(mac);
         }
+    }
+
+    /**
+     * A method to compute the HMAC of a byte array and write it as
+     * URL-safe Base64 without padding into a caller provided buffer.
+     * The destination must hold at least 43 bytes for HmacSHA256.
+     *
+     * @return The number of bytes written.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    public int hmacSha256UrlSafe(byte[] input, byte[] destination) {
+        return BASE64_URL.encode(hmacSha256(input), destination);
+    }
+
+    /**
+     * A method to get the length in bytes of the raw HMAC.
+     *
+     * @author IFD
+     * @since 2026-10-17
+     * */
+    public int macLength() {
+        return prototype.getMacLength();
+    }
+
+    private Mac borrow() {
+
+        Mac mac = pool.poll();
+
+        if(mac != null) {
+            return mac;
+        }
+
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(hmacAlgo + " does not support cloning", e);
+        }
+    }
 
+    private void release(Mac mac) {
+        // A failed call may leave input buffered, extra instances are simply dropped
+        mac.reset();
+        pool.offer(mac);
     }
 
 }
@@ -0,0 +1,55 @@
+package com.iforddow.authservice.common.utility;
+
+/**
+* A utility class for a fast, non-cryptographic 64-bit hash of keys,
+* shared by the node-local Bloom filters and token buckets. It is not
+* keyed, so it must not be used where an attacker could profit from
+* choosing colliding keys, see HashUtility for that.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+public final class KeyHashUtility {
+
+    private KeyHashUtility() {
+    }
+
+    /**
+    * A method to hash a key, FNV-1a over its characters
+    * finished with a 64-bit mixer.
+    *
+    * @param value The key to hash.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static long hash(CharSequence value) {
+
+        long hash = 0xCBF29CE484222325L;
+
+        for(int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+    * A method to spread the bits of a value, the MurmurHash3 finalizer.
+    *
+    * @param value The value to mix.
+    *
+    * @author IFD
+    * @since 2026-10-17
+    * */
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+}
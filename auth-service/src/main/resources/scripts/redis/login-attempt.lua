@@ -0,0 +1,67 @@
+-- Atomically checks the lock of an account, reserves a login attempt and
+-- decides on a lockout. The attempt is counted before the password is
+-- checked, so concurrent requests can never race past the limit, a
+-- successful login clears the counter again.
+--
+-- A temporary lock is a key with a TTL, so it ends by itself. Only when
+-- an account runs into its lockout limit is the caller told to block it
+-- permanently in the database. The account is locked in Redis as well
+-- and its lockouts stay counted, so if persisting the block fails the
+-- next attempt after the lock is turned into a block again.
+--
+-- KEYS[1] The login attempt counter key.
+-- KEYS[2] The lock key.
+-- KEYS[3] The lockout counter key.
+--
+-- ARGV[1] The maximum number of attempts.
+-- ARGV[2] The counter window in seconds.
+-- ARGV[3] The lock duration in seconds.
+-- ARGV[4] The maximum number of lockouts before a block, -1 for no block.
+-- ARGV[5] How long lockouts are counted in seconds.
+--
+-- Returns the verdict, the attempt count and the seconds until the lock
+-- ends, all as strings. ALLOWED lets the attempt go ahead, LOCKED means
+-- the account is locked, BLOCKED means this attempt crossed the lockout
+-- limit and the caller persists the block. Lockouts are only cleared by
+-- an unlock or when their window ends.
+
+local counterKey = KEYS[1]
+local lockKey = KEYS[2]
+local lockoutsKey = KEYS[3]
+
+local max = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local lock = tonumber(ARGV[3])
+local maxLockouts = tonumber(ARGV[4])
+local lockoutWindow = tonumber(ARGV[5])
+
+-- A locked account is not counted any further
+local ttl = redis.call('TTL', lockKey)
+
+if ttl > 0 then
+    return { 'LOCKED', tostring(max + 1), tostring(ttl) }
+end
+
+local attempts = redis.call('INCR', counterKey)
+
+if attempts == 1 then
+    redis.call('EXPIRE', counterKey, window)
+end
+
+if attempts <= max then
+    return { 'ALLOWED', tostring(attempts), '0' }
+end
+
+-- This attempt crossed the limit, only one request can get here per lock
+redis.call('DEL', counterKey)
+
+local lockouts = redis.call('INCR', lockoutsKey)
+redis.call('EXPIRE', lockoutsKey, lockoutWindow)
+
+redis.call('SET', lockKey, tostring(lockouts), 'EX', lock)
+
+if maxLockouts ~= -1 and lockouts >= maxLockouts then
+    return { 'BLOCKED', tostring(attempts), tostring(lock) }
+end
+
+return { 'LOCKED', tostring(attempts), tostring(lock) }
@@ -0,0 +1,67 @@
+-- Atomically checks and consumes every rate limit of a request with the
+-- generic cell rate algorithm (GCRA). Each key stores a single number,
+-- the theoretical arrival time (TAT) of the next request in milliseconds.
+-- Unlike a fixed window there is no window edge to burst across, a limit
+-- of N per period allows at most N requests in any period.
+--
+-- The request is only counted when every limit allows it, so a request
+-- rejected by one limit does not use up another. All keys must share a
+-- cluster slot.
+--
+-- KEYS[i] The rate limit key of the i-th limit.
+--
+-- ARGV[2i-1] The limit of the i-th key.
+-- ARGV[2i] The period of the i-th key in milliseconds.
+--
+-- Returns whether the request is allowed ('1' or '0'), the requests left
+-- on the tightest limit and the milliseconds until the request would be
+-- allowed, all as strings.
+
+-- Server time, so every node limits against the same clock
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local allowed = true
+local remaining = -1
+local retryAfter = 0
+local tats = {}
+
+for i, key in ipairs(KEYS) do
+    local limit = tonumber(ARGV[2 * i - 1])
+    local period = tonumber(ARGV[2 * i])
+    local interval = period / limit
+
+    local stored = redis.call('GET', key)
+    local tat = stored and tonumber(stored) or now
+
+    if tat < now then
+        tat = now
+    end
+
+    local newTat = tat + interval
+    local ahead = newTat - now
+
+    if ahead > period then
+        allowed = false
+        retryAfter = math.max(retryAfter, ahead - period)
+    else
+        local left = math.floor((period - ahead) / interval)
+
+        if remaining < 0 or left < remaining then
+            remaining = left
+        end
+    end
+
+    tats[i] = newTat
+end
+
+if not allowed then
+    return { '0', '0', tostring(math.ceil(retryAfter)) }
+end
+
+for i, key in ipairs(KEYS) do
+    -- The key is only needed until its TAT has passed
+    redis.call('SET', key, string.format('%.3f', tats[i]), 'PX', math.ceil(tats[i] - now))
+end
+
+return { '1', tostring(remaining), '0' }
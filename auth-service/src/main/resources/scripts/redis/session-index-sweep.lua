@@ -0,0 +1,34 @@
+-- Prunes dead session IDs from one account session index.
+--
+-- KEYS[1] The account session index key.
+--
+-- ARGV[1] The session key prefix.
+--
+-- Returns the number of pruned IDs and the number of IDs left.
+
+-- Indexes are sorted sets, older ones may still be plain sets.
+-- A missing index simply has nothing left to prune.
+local kind = redis.call('TYPE', KEYS[1]).ok
+local ids = {}
+
+if kind == 'zset' then
+    ids = redis.call('ZRANGE', KEYS[1], 0, -1)
+elseif kind == 'set' then
+    ids = redis.call('SMEMBERS', KEYS[1])
+end
+
+local pruned = 0
+
+for _, id in ipairs(ids) do
+    if redis.call('EXISTS', ARGV[1] .. id) == 0 then
+        if kind == 'zset' then
+            redis.call('ZREM', KEYS[1], id)
+        else
+            redis.call('SREM', KEYS[1], id)
+        end
+
+        pruned = pruned + 1
+    end
+end
+
+return { pruned, #ids - pruned }
@@ -0,0 +1,26 @@
+-- Slides the expiry of a hash stored session without rewriting it.
+-- Does nothing if the session was revoked or expired in the meantime.
+--
+-- KEYS[1] The session key.
+--
+-- ARGV[1] The new sliding expiry of the session (epoch seconds).
+-- ARGV[2] The hard expiration of the session (epoch seconds).
+--
+-- Returns 1 if refreshed, 0 if the session no longer exists and 2 if
+-- the key still holds a value written before the switch to hash storage,
+-- which the caller rewrites as a whole instead.
+
+local keyType = redis.call('TYPE', KEYS[1])['ok']
+
+if keyType == 'none' then
+    return 0
+end
+
+if keyType ~= 'hash' then
+    return 2
+end
+
+redis.call('HSET', KEYS[1], 'expiresAt', ARGV[1])
+redis.call('EXPIREAT', KEYS[1], ARGV[2])
+
+return 1
@@ -0,0 +1,37 @@
+-- Atomically revokes every session of an account.
+--
+-- KEYS[1] The account session index key.
+--
+-- ARGV[1] The session key prefix.
+--
+-- Returns the number of session keys removed followed by the hashed
+-- IDs that were indexed, so callers can evict them from local caches.
+
+-- The index is a sorted set, older indexes may still be a plain set
+local ids
+
+if redis.call('TYPE', KEYS[1]).ok == 'set' then
+    ids = redis.call('SMEMBERS', KEYS[1])
+else
+    ids = redis.call('ZRANGE', KEYS[1], 0, -1)
+end
+
+local removed = 0
+
+-- UNLINK in chunks to stay well below the Lua unpack limit
+local chunk = {}
+
+for i, id in ipairs(ids) do
+    chunk[#chunk + 1] = ARGV[1] .. id
+
+    if #chunk == 500 or i == #ids then
+        removed = removed + redis.call('UNLINK', unpack(chunk))
+        chunk = {}
+    end
+end
+
+redis.call('UNLINK', KEYS[1])
+
+table.insert(ids, 1, tostring(removed))
+
+return ids
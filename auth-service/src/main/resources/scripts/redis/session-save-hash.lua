@@ -0,0 +1,64 @@
+-- Atomically stores a session as a hash, indexes it under its account
+-- and evicts the oldest sessions of the account beyond the limit.
+--
+-- KEYS[1] The session key.
+-- KEYS[2] The account session index key (sorted set scored by createdAt).
+--
+-- ARGV[1] The hard expiration of the session (epoch seconds).
+-- ARGV[2] The hashed session ID to add to the account index.
+-- ARGV[3] The seconds remaining until the hard expiration.
+-- ARGV[4] The creation time of the session (epoch millis).
+-- ARGV[5] The maximum sessions per account, -1 for unlimited.
+-- ARGV[6] The session key prefix.
+-- ARGV[7..n] The session hash as field/value pairs.
+--
+-- Returns the hashed IDs of the evicted sessions. Evicted IDs without an
+-- {accountId} hash tag are left for the caller to unlink.
+
+-- Replace rather than merge, the key may still hold a legacy string value
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], unpack(ARGV, 7))
+redis.call('EXPIREAT', KEYS[1], ARGV[1])
+
+-- Indexes written before the switch to a sorted set are converted in
+-- place, their sessions have no known creation time and rank oldest.
+if redis.call('TYPE', KEYS[2]).ok == 'set' then
+    local legacy = redis.call('SMEMBERS', KEYS[2])
+    redis.call('DEL', KEYS[2])
+
+    for _, id in ipairs(legacy) do
+        redis.call('ZADD', KEYS[2], 0, id)
+    end
+end
+
+redis.call('ZADD', KEYS[2], ARGV[4], ARGV[2])
+
+-- Only ever extend the index expiry, an older session being saved
+-- must not shorten the lifetime of the newer sessions in the set.
+if redis.call('TTL', KEYS[2]) < tonumber(ARGV[3]) then
+    redis.call('EXPIREAT', KEYS[2], ARGV[1])
+end
+
+local evicted = {}
+local max = tonumber(ARGV[5])
+
+if max >= 0 then
+    local excess = redis.call('ZCARD', KEYS[2]) - max
+
+    if excess > 0 then
+        local popped = redis.call('ZPOPMIN', KEYS[2], excess)
+
+        -- ZPOPMIN replies with alternating member/score pairs
+        for i = 1, #popped, 2 do
+            evicted[#evicted + 1] = popped[i]
+
+            -- Only tagged keys are sure to share the slot of KEYS[2], the
+            -- caller unlinks the keys of untagged IDs on its own
+            if string.sub(popped[i], 1, 1) == '{' then
+                redis.call('UNLINK', ARGV[6] .. popped[i])
+            end
+        end
+    end
+end
+
+return evicted
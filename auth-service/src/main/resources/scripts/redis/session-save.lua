@@ -0,0 +1,61 @@
+-- Atomically stores a session, indexes it under its account and
+-- evicts the oldest sessions of the account beyond the limit.
+--
+-- KEYS[1] The session key.
+-- KEYS[2] The account session index key (sorted set scored by createdAt).
+--
+-- ARGV[1] The serialized session value.
+-- ARGV[2] The hard expiration of the session (epoch seconds).
+-- ARGV[3] The hashed session ID to add to the account index.
+-- ARGV[4] The seconds remaining until the hard expiration.
+-- ARGV[5] The creation time of the session (epoch millis).
+-- ARGV[6] The maximum sessions per account, -1 for unlimited.
+-- ARGV[7] The session key prefix.
+--
+-- Returns the hashed IDs of the evicted sessions. Evicted IDs without an
+-- {accountId} hash tag are left for the caller to unlink.
+
+redis.call('SET', KEYS[1], ARGV[1], 'EXAT', ARGV[2])
+
+-- Indexes written before the switch to a sorted set are converted in
+-- place, their sessions have no known creation time and rank oldest.
+if redis.call('TYPE', KEYS[2]).ok == 'set' then
+    local legacy = redis.call('SMEMBERS', KEYS[2])
+    redis.call('DEL', KEYS[2])
+
+    for _, id in ipairs(legacy) do
+        redis.call('ZADD', KEYS[2], 0, id)
+    end
+end
+
+redis.call('ZADD', KEYS[2], ARGV[5], ARGV[3])
+
+-- Only ever extend the index expiry, an older session being saved
+-- must not shorten the lifetime of the newer sessions in the set.
+if redis.call('TTL', KEYS[2]) < tonumber(ARGV[4]) then
+    redis.call('EXPIREAT', KEYS[2], ARGV[2])
+end
+
+local evicted = {}
+local max = tonumber(ARGV[6])
+
+if max >= 0 then
+    local excess = redis.call('ZCARD', KEYS[2]) - max
+
+    if excess > 0 then
+        local popped = redis.call('ZPOPMIN', KEYS[2], excess)
+
+        -- ZPOPMIN replies with alternating member/score pairs
+        for i = 1, #popped, 2 do
+            evicted[#evicted + 1] = popped[i]
+
+            -- Only tagged keys are sure to share the slot of KEYS[2], the
+            -- caller unlinks the keys of untagged IDs on its own
+            if string.sub(popped[i], 1, 1) == '{' then
+                redis.call('UNLINK', ARGV[7] .. popped[i])
+            end
+        end
+    end
+end
+
+return evicted
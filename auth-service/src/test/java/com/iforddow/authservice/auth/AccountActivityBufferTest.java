@@ -0,0 +1,78 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+@DisplayName("Account Activity Buffer Tests")
+public class AccountActivityBufferTest {
+
+    private AccountActivityBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        buffer = new AccountActivityBuffer(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(buffer, "enabled", true);
+        ReflectionTestUtils.setField(buffer, "maxPending", 2);
+        buffer.init();
+    }
+
+    @Test
+    @DisplayName("Coalesce Per Account Test")
+    public void coalesceTest() {
+
+        UUID accountId = UUID.randomUUID();
+
+        for(int i = 0; i < 100; i++) {
+            buffer.record(accountId);
+        }
+
+        Map<UUID, Long> drained = buffer.drain();
+
+        assert(drained.size() == 1);
+        assert(drained.containsKey(accountId));
+        assert(buffer.drain().isEmpty());
+
+    }
+
+    @Test
+    @DisplayName("Max Pending Test")
+    public void maxPendingTest() {
+
+        UUID first = UUID.randomUUID();
+
+        buffer.record(first);
+        buffer.record(UUID.randomUUID());
+        buffer.record(UUID.randomUUID());
+
+        // Accounts already pending are still updated when the buffer is full
+        buffer.record(first);
+
+        assert(buffer.drain().size() == 2);
+
+    }
+
+    @Test
+    @DisplayName("Requeue Keeps Latest Test")
+    public void requeueTest() {
+
+        UUID accountId = UUID.randomUUID();
+
+        buffer.record(accountId);
+        long recorded = buffer.drain().get(accountId);
+
+        // A failed flush is put back behind newer activity
+        buffer.record(accountId);
+        buffer.requeue(Map.of(accountId, recorded - 60_000));
+
+        assert(buffer.drain().get(accountId) >= recorded);
+
+    }
+
+}
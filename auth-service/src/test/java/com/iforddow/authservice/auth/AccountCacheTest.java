@@ -0,0 +1,154 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.AccountCache;
+import com.iforddow.authservice.auth.entity.jpa.Account;
+import com.iforddow.authservice.auth.repository.jpa.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Account Cache Tests")
+public class AccountCacheTest {
+
+    private AccountRepository accountRepository;
+    private StringRedisTemplate stringRedisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private ConcurrentMapCacheManager cacheManager;
+    private AccountCache accountCache;
+    private Account account;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        account = Account.builder()
+                .id(UUID.randomUUID())
+                .email("User@Example.com")
+                .password("hash")
+                .authorities(new ArrayList<>())
+                .build();
+
+        accountRepository = Mockito.mock(AccountRepository.class);
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        when(accountRepository.findAccountByEmail("User@Example.com")).thenAnswer(invocation -> {
+            // Slow enough for concurrent lookups to overlap
+            Thread.sleep(50);
+            return Optional.of(account);
+        });
+
+        // The map cache stands in for the Redis accounts cache
+        cacheManager = new ConcurrentMapCacheManager(AccountCache.CACHE_NAME);
+        accountCache = new AccountCache(accountRepository, cacheManager,
+                stringRedisTemplate, Mockito.mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(accountCache, "enabled", true);
+        ReflectionTestUtils.setField(accountCache, "localMaxSize", 100L);
+        ReflectionTestUtils.setField(accountCache, "localTtlSeconds", 30L);
+        ReflectionTestUtils.setField(accountCache, "invalidationChannel", "account:invalidation");
+        ReflectionTestUtils.setField(accountCache, "tombstonePrefix", "account:cache:tombstone:");
+        ReflectionTestUtils.setField(accountCache, "tombstoneTtlSeconds", 60L);
+
+        accountCache.init();
+    }
+
+    @Test
+    @DisplayName("Single Flight Test")
+    public void singleFlightTest() {
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(int i = 0; i < 100; i++) {
+                executor.execute(() -> {
+                    assert(accountCache.findByEmail("User@Example.com").isPresent());
+                });
+            }
+        }
+
+        // A hot account is loaded once
+        verify(accountRepository, times(1)).findAccountByEmail("User@Example.com");
+
+    }
+
+    @Test
+    @DisplayName("Shared Tier Test")
+    public void sharedTierTest() {
+
+        accountCache.findByEmail("User@Example.com");
+
+        // The load filled the shared tier under the normalised email
+        assert(cacheManager.getCache(AccountCache.CACHE_NAME).get("email:user@example.com") != null);
+
+        // A case variant hits the same entry but is decided by the repository
+        assert(accountCache.findByEmail("user@example.com").isEmpty());
+
+    }
+
+    @Test
+    @DisplayName("Detached Copy Test")
+    public void detachedCopyTest() {
+
+        Account found = accountCache.findByEmail("User@Example.com").orElseThrow();
+        found.setPassword("changed");
+        found.setAuthorities(new ArrayList<>(List.of("ADMIN")));
+
+        // Changing the account handed out leaves the cached one as it was
+        Account again = accountCache.findByEmail("User@Example.com").orElseThrow();
+
+        assert(again != found);
+        assert(again.getPassword().equals("hash"));
+        assert(again.getAuthorities().isEmpty());
+        verify(accountRepository, times(1)).findAccountByEmail("User@Example.com");
+
+    }
+
+    @Test
+    @DisplayName("Evict Test")
+    public void evictTest() {
+
+        accountCache.findByEmail("User@Example.com");
+        accountCache.evict(account);
+        accountCache.findByEmail("User@Example.com");
+
+        verify(accountRepository, times(2)).findAccountByEmail("User@Example.com");
+        verify(stringRedisTemplate).executePipelined(any(RedisCallback.class));
+        verify(stringRedisTemplate).convertAndSend("account:invalidation", "email:user@example.com");
+
+    }
+
+    @Test
+    @DisplayName("Evict During Load Test")
+    public void evictDuringLoadTest() {
+
+        // An evict lands between the tombstone reads around the database lookup
+        when(valueOperations.get("account:cache:tombstone:email:user@example.com")).thenReturn(null, "1");
+
+        assert(accountCache.findByEmail("User@Example.com").isPresent());
+
+        // The row read may predate the change, so it is kept out of the shared tier
+        assert(cacheManager.getCache(AccountCache.CACHE_NAME).get("email:user@example.com") == null);
+
+    }
+
+}
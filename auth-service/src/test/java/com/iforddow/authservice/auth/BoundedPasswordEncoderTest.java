@@ -0,0 +1,130 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.exception.ServiceUnavailableException;
+import com.iforddow.authservice.common.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Bounded Password Encoder Tests")
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    // Stands in for Argon2, blocks "slow" passwords until released
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if(rawPassword.toString().startsWith("slow")) {
+                started.countDown();
+
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 100, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Delegates Test")
+    public void delegatesTest() {
+
+        assert(encoder.encode("password").equals("hashed:password"));
+        assert(encoder.matches("password", "hashed:password"));
+        assert(!encoder.matches("password", "hashed:other"));
+        assert(meterRegistry.timer("password.hash.time", "operation", "matches").count() == 2);
+
+    }
+
+    @Test
+    @DisplayName("Queue Timeout Test")
+    public void queueTimeoutTest() throws Exception {
+
+        // Occupy the only hashing thread
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> encoder.encode("slow-password"));
+        assert(started.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+
+        try {
+            encoder.encode("queued-password");
+            assert(false);
+        } catch (ServiceUnavailableException e) {
+            // The queued hash gave up after the queue timeout, not after the slow hash
+            assert(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+
+        release.countDown();
+
+        // A hash that already started always completes
+        assert(slow.get(5, TimeUnit.SECONDS).equals("hashed:slow-password"));
+        assert(meterRegistry.counter("password.hash.rejected").count() == 1);
+
+        // The abandoned hash is skipped and the pool is usable again
+        assert(encoder.encode("password").equals("hashed:password"));
+
+    }
+
+    @Test
+    @DisplayName("Full Queue Test")
+    public void fullQueueTest() throws Exception {
+
+        CompletableFuture.supplyAsync(() -> encoder.encode("slow-password"));
+        assert(started.await(5, TimeUnit.SECONDS));
+
+        // Fills the single queue slot until it times out
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                encoder.encode("queued-password");
+                return false;
+            } catch (ServiceUnavailableException e) {
+                return true;
+            }
+        });
+
+        Thread.sleep(20);
+
+        try {
+            encoder.encode("rejected-password");
+            assert(false);
+        } catch (ServiceUnavailableException e) {
+            // Rejected straight away, the queue was full
+        }
+
+        assert(queued.get(5, TimeUnit.SECONDS));
+
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.utility.HashUtility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+@DisplayName("Hash Utility Tests")
+public class HashUtilityTest {
+
+    private static final String SECRET = "test-secret-for-hmac";
+
+    private HashUtility hashUtility;
+
+    @BeforeEach
+    public void setUp() {
+        hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", "HmacSHA256");
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", SECRET);
+        hashUtility.init();
+    }
+
+    private String legacyHmac(String str) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(str.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Matches Legacy Output Test")
+    public void matchesLegacyOutputTest() throws Exception {
+
+        String sessionId = "u0Z6cJq1Jv4y2Xl0c3oXw9Zr8n5mQk1TQb6V4yq7m8E";
+
+        // Stored session keys depend on this staying byte for byte identical
+        assert(hashUtility.hmacSha256(sessionId).equals(legacyHmac(sessionId)));
+
+    }
+
+    @Test
+    @DisplayName("Overloads Agree Test")
+    public void overloadsAgreeTest() {
+
+        byte[] input = "203.0.113.42".getBytes(StandardCharsets.UTF_8);
+
+        byte[] raw = hashUtility.hmacSha256(input);
+        byte[] fromBuffer = hashUtility.hmacSha256(ByteBuffer.wrap(input));
+
+        byte[] output = new byte[40];
+        int written = hashUtility.hmacSha256(input, output, 8);
+
+        byte[] urlSafe = new byte[43];
+        int encoded = hashUtility.hmacSha256UrlSafe(input, urlSafe);
+
+        assert(Arrays.equals(raw, fromBuffer));
+        assert(written == 32 && Arrays.equals(raw, Arrays.copyOfRange(output, 8, 40)));
+        assert(new String(urlSafe, 0, encoded, StandardCharsets.US_ASCII).equals(Base64.getUrlEncoder().withoutPadding().encodeToString(raw)));
+
+    }
+
+    @Test
+    @DisplayName("Short Buffer Does Not Poison Pool Test")
+    public void shortBufferTest() {
+
+        byte[] input = "abc".getBytes(StandardCharsets.UTF_8);
+        byte[] expected = hashUtility.hmacSha256(input);
+
+        try {
+            hashUtility.hmacSha256(input, new byte[16], 0);
+            assert(false);
+        } catch (IllegalArgumentException e) {
+            assert(true);
+        }
+
+        assert(Arrays.equals(expected, hashUtility.hmacSha256(input)));
+
+    }
+
+    @Test
+    @DisplayName("Concurrent Hashing Test")
+    public void concurrentHashingTest() throws Exception {
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<Future<Boolean>> results = IntStream.range(0, 2000)
+                    .mapToObj(i -> executor.submit(() -> hashUtility.hmacSha256("session-" + i).equals(legacyHmac("session-" + i))))
+                    .toList();
+
+            for(Future<Boolean> result : results) {
+                assert(result.get());
+            }
+        }
+
+    }
+
+}
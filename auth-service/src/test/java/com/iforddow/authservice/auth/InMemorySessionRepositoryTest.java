@@ -0,0 +1,182 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import com.iforddow.authservice.auth.repository.memory.InMemorySessionRepository;
+import com.iforddow.authservice.auth.repository.memory.TimingWheel;
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@DisplayName("In Memory Session Repository Tests")
+public class InMemorySessionRepositoryTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private HashUtility hashUtility;
+    private InMemorySessionRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", "HmacSHA256");
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", "test-secret-for-hmac");
+        hashUtility.init();
+
+        repository = repository("");
+    }
+
+    private InMemorySessionRepository repository(String snapshotPath) {
+        // A disabled activity buffer, activity is covered by its own tests
+        AccountActivityBuffer activityBuffer = new AccountActivityBuffer(new SimpleMeterRegistry());
+
+        InMemorySessionRepository repository = new InMemorySessionRepository(hashUtility, JsonMapper.builder().build(), activityBuffer);
+        ReflectionTestUtils.setField(repository, "sessionTtlSeconds", 604800L);
+        ReflectionTestUtils.setField(repository, "thresholdRatio", 0.8);
+        ReflectionTestUtils.setField(repository, "maxSessions", 3);
+        ReflectionTestUtils.setField(repository, "snapshotPath", snapshotPath);
+        repository.init();
+
+        return repository;
+    }
+
+    private Session session(String sessionId, UUID accountId, Instant createdAt, long ttlSeconds) {
+
+        Instant now = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+
+        return Session.builder()
+                .sessionId(sessionId)
+                .accountId(accountId)
+                .createdAt(createdAt)
+                .ip("203.0.113.42")
+                .userAgent("Mozilla/5.0")
+                .expiresAt(now.plusSeconds(ttlSeconds))
+                .hardExpiration(now.plusSeconds(2592000))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Save And Find Test")
+    public void saveAndFindTest() {
+
+        UUID accountId = UUID.randomUUID();
+
+        repository.save(session("raw-session-id", accountId, Instant.now(), 604800));
+
+        Session found = repository.findById("raw-session-id");
+
+        // Stored sessions carry the hashed ID, like the Redis store
+        assert(found != null);
+        assert(found.getSessionId().equals(hashUtility.hmacSha256("raw-session-id")));
+        assert(repository.exists(found.getSessionId()));
+        assert(repository.findById("unknown") == null);
+
+    }
+
+    @Test
+    @DisplayName("Max Sessions Evicts Oldest Test")
+    public void maxSessionsTest() {
+
+        UUID accountId = UUID.randomUUID();
+        Instant now = Instant.now();
+
+        for(int i = 0; i < 5; i++) {
+            repository.save(session("session-" + i, accountId, now.plusSeconds(i), 604800));
+        }
+
+        List<Session> sessions = repository.findAllByAccountId(accountId);
+
+        assert(sessions.size() == 3);
+        assert(repository.findById("session-0") == null);
+        assert(repository.findById("session-1") == null);
+        assert(repository.findById("session-4") != null);
+
+    }
+
+    @Test
+    @DisplayName("Timing Wheel Expiry Test")
+    public void expiryTest() {
+
+        UUID accountId = UUID.randomUUID();
+
+        repository.save(session("short-lived", accountId, Instant.now(), 5));
+        repository.save(session("long-lived", accountId, Instant.now(), 604800));
+
+        long now = Instant.now().getEpochSecond();
+
+        assert(repository.expireDue(now + 2) == 0);
+        assert(repository.expireDue(now + 10) == 1);
+        assert(repository.findAllByAccountId(accountId).size() == 1);
+
+    }
+
+    @Test
+    @DisplayName("Timing Wheel Levels Test")
+    public void timingWheelLevelsTest() {
+
+        long start = 1_000_000L;
+        TimingWheel wheel = new TimingWheel(start);
+
+        // One deadline per level, plus one already overdue
+        long[] deadlines = { start - 10, start + 30, start + 5_000, start + 300_000, start + 2_592_000 };
+
+        for(int i = 0; i < deadlines.length; i++) {
+            wheel.schedule("timer-" + i, deadlines[i]);
+        }
+
+        for(int i = 0; i < deadlines.length; i++) {
+            long deadline = Math.max(deadlines[i], start + 1);
+
+            assert(!wheel.advance(deadline - 1).contains("timer-" + i));
+            assert(wheel.advance(deadline).contains("timer-" + i));
+        }
+
+        assert(wheel.size() == 0);
+
+    }
+
+    @Test
+    @DisplayName("Revoke All Test")
+    public void revokeAllTest() {
+
+        UUID accountId = UUID.randomUUID();
+
+        repository.save(session("first", accountId, Instant.now(), 604800));
+        repository.save(session("second", accountId, Instant.now(), 604800));
+
+        assert(repository.revokeAllByAccountId(accountId) == 2);
+        assert(repository.findById("first") == null);
+        assert(repository.findAllByAccountId(accountId).isEmpty());
+
+    }
+
+    @Test
+    @DisplayName("Snapshot Restore Test")
+    public void snapshotRestoreTest() {
+
+        String snapshotPath = tempDir.resolve("sessions.bin").toString();
+        UUID accountId = UUID.randomUUID();
+
+        InMemorySessionRepository first = repository(snapshotPath);
+        first.save(session("persisted", accountId, Instant.now(), 604800));
+        first.snapshot();
+
+        InMemorySessionRepository restored = repository(snapshotPath);
+
+        assert(restored.findById("persisted") != null);
+        assert(restored.findAllByAccountId(accountId).size() == 1);
+
+    }
+
+}
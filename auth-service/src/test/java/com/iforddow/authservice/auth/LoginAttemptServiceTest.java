@@ -0,0 +1,162 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.service.LoginAttemptService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Login Attempt Service Tests")
+public class LoginAttemptServiceTest {
+
+    private static final int MAX_ATTEMPTS = 2;
+    private static final int MAX_LOCKOUTS = 2;
+    private static final long LOCK_SECONDS = 900;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    // Keys held by the stand-in for login-attempt.lua, locks only end when a test lets them expire
+    private final Map<String, Long> redis = new HashMap<>();
+
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+
+        StringRedisTemplate stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        RedisScript<List> loginAttemptScript = Mockito.mock(RedisScript.class);
+
+        // Follows login-attempt.lua step by step
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+
+            List<String> keys = invocation.getArgument(1);
+            String counterKey = keys.get(0);
+            String lockKey = keys.get(1);
+            String lockoutsKey = keys.get(2);
+
+            if(redis.containsKey(lockKey)) {
+                return List.of("LOCKED", String.valueOf(MAX_ATTEMPTS + 1), String.valueOf(LOCK_SECONDS));
+            }
+
+            long attempts = redis.merge(counterKey, 1L, Long::sum);
+
+            if(attempts <= MAX_ATTEMPTS) {
+                return List.of("ALLOWED", String.valueOf(attempts), "0");
+            }
+
+            redis.remove(counterKey);
+
+            long lockouts = redis.merge(lockoutsKey, 1L, Long::sum);
+            redis.put(lockKey, lockouts);
+
+            if(lockouts >= MAX_LOCKOUTS) {
+                return List.of("BLOCKED", String.valueOf(attempts), String.valueOf(LOCK_SECONDS));
+            }
+
+            return List.of("LOCKED", String.valueOf(attempts), String.valueOf(LOCK_SECONDS));
+        });
+
+        when(stringRedisTemplate.delete(anyString())).thenAnswer(invocation ->
+                redis.remove((String) invocation.getArgument(0)) != null);
+
+        when(stringRedisTemplate.delete(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            return keys.stream().filter(key -> redis.remove(key) != null).count();
+        });
+
+        loginAttemptService = new LoginAttemptService(stringRedisTemplate, loginAttemptScript);
+
+        ReflectionTestUtils.setField(loginAttemptService, "loginAttemptCounterPrefix", "login:attempt:counter:");
+        ReflectionTestUtils.setField(loginAttemptService, "loginAttemptCounterTtlSeconds", 300);
+        ReflectionTestUtils.setField(loginAttemptService, "loginLockPrefix", "login:lock:");
+        ReflectionTestUtils.setField(loginAttemptService, "lockoutCounterPrefix", "login:lockouts:");
+        ReflectionTestUtils.setField(loginAttemptService, "lockoutCounterTtlSeconds", 86400);
+        ReflectionTestUtils.setField(loginAttemptService, "maxLoginAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(loginAttemptService, "lockoutDurationMinutes", 15);
+        ReflectionTestUtils.setField(loginAttemptService, "maxLockoutsUntilBlocked", MAX_LOCKOUTS);
+    }
+
+    private LoginAttemptService.Verdict fail(int attempts) {
+
+        LoginAttemptService.Verdict verdict = null;
+
+        for(int i = 0; i < attempts; i++) {
+            verdict = loginAttemptService.attempt(accountId).verdict();
+        }
+
+        return verdict;
+    }
+
+    // The lock running out on its own
+    private void lockExpires() {
+        redis.remove("login:lock:{" + accountId + "}");
+    }
+
+    @Test
+    @DisplayName("Locked Test")
+    public void lockedTest() {
+
+        assert(fail(MAX_ATTEMPTS) == LoginAttemptService.Verdict.ALLOWED);
+
+        LoginAttemptService.LoginAttempt attempt = loginAttemptService.attempt(accountId);
+
+        assert(attempt.verdict() == LoginAttemptService.Verdict.LOCKED);
+        assert(attempt.lockedUntil().isAfter(Instant.now().plusSeconds(LOCK_SECONDS - 5)));
+
+        // Further attempts are turned away without counting
+        assert(loginAttemptService.attempt(accountId).verdict() == LoginAttemptService.Verdict.LOCKED);
+
+    }
+
+    @Test
+    @DisplayName("Blocked Test")
+    public void blockedTest() {
+
+        assert(fail(MAX_ATTEMPTS + 1) == LoginAttemptService.Verdict.LOCKED);
+        lockExpires();
+
+        assert(fail(MAX_ATTEMPTS + 1) == LoginAttemptService.Verdict.BLOCKED);
+
+        // Should persisting the block fail, the account is still locked in Redis
+        assert(loginAttemptService.attempt(accountId).verdict() == LoginAttemptService.Verdict.LOCKED);
+
+        // And once that lock ends, the next lockout blocks it again
+        lockExpires();
+        assert(fail(MAX_ATTEMPTS + 1) == LoginAttemptService.Verdict.BLOCKED);
+
+    }
+
+    @Test
+    @DisplayName("Success After Lockout Test")
+    public void successAfterLockoutTest() {
+
+        assert(fail(MAX_ATTEMPTS + 1) == LoginAttemptService.Verdict.LOCKED);
+        lockExpires();
+
+        // Logging in to the account between bursts only clears the attempts
+        assert(fail(1) == LoginAttemptService.Verdict.ALLOWED);
+        loginAttemptService.succeeded(accountId);
+
+        assert(fail(MAX_ATTEMPTS) == LoginAttemptService.Verdict.ALLOWED);
+        assert(loginAttemptService.attempt(accountId).verdict() == LoginAttemptService.Verdict.BLOCKED);
+
+    }
+
+}
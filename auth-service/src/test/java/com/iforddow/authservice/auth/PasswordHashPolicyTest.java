@@ -0,0 +1,67 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.security.PasswordHashPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@DisplayName("Password Hash Policy Tests")
+public class PasswordHashPolicyTest {
+
+    private static final String PASSWORD = "Correct-Horse-Battery-9";
+
+    @Test
+    @DisplayName("Legacy Hash Test")
+    public void legacyHashTest() {
+
+        // Hashes stored before versioning carry no prefix
+        String legacyHash = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode(PASSWORD);
+        PasswordEncoder encoder = PasswordHashPolicy.encoder(PasswordHashPolicy.LEGACY_VERSION);
+
+        assert(encoder.matches(PASSWORD, legacyHash));
+        assert(!encoder.matches("wrong-password", legacyHash));
+        assert(PasswordHashPolicy.versionOf(legacyHash).equals(PasswordHashPolicy.LEGACY_VERSION));
+
+        // Rehashed once so the version is recorded
+        assert(encoder.upgradeEncoding(legacyHash));
+
+    }
+
+    @Test
+    @DisplayName("Version Upgrade Test")
+    public void versionUpgradeTest() {
+
+        PasswordEncoder v1 = PasswordHashPolicy.encoder("argon2-v1");
+        PasswordEncoder v2 = PasswordHashPolicy.encoder("argon2-v2");
+
+        String v1Hash = v1.encode(PASSWORD);
+        String v2Hash = v2.encode(PASSWORD);
+
+        assert(PasswordHashPolicy.versionOf(v1Hash).equals("argon2-v1"));
+        assert(PasswordHashPolicy.versionOf(v2Hash).equals("argon2-v2"));
+
+        // Both versions keep verifying whichever is current
+        assert(v2.matches(PASSWORD, v1Hash));
+        assert(v1.matches(PASSWORD, v2Hash));
+
+        assert(!v1.upgradeEncoding(v1Hash));
+        assert(v2.upgradeEncoding(v1Hash));
+        assert(!v2.upgradeEncoding(v2Hash));
+
+    }
+
+    @Test
+    @DisplayName("Unknown Version Test")
+    public void unknownVersionTest() {
+
+        try {
+            PasswordHashPolicy.encoder("argon2-v99");
+            assert(false);
+        } catch (IllegalStateException e) {
+            // Refuses to start with a version that cannot verify its own hashes
+        }
+
+    }
+
+}
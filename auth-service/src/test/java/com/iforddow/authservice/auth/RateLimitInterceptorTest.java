@@ -0,0 +1,117 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.exception.TooManyRequests;
+import com.iforddow.authservice.common.ratelimit.LocalRateLimiter;
+import com.iforddow.authservice.common.ratelimit.RateLimit;
+import com.iforddow.authservice.common.ratelimit.RateLimitInterceptor;
+import com.iforddow.authservice.common.ratelimit.RateLimitKey;
+import com.iforddow.authservice.common.ratelimit.RateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Rate Limit Interceptor Tests")
+public class RateLimitInterceptorTest {
+
+    private RateLimiter rateLimiter;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("test.limit.email", "3")
+                .withProperty("test.limit.ip", "-1")
+                .withProperty("test.period", "3600");
+
+        rateLimiter = Mockito.mock(RateLimiter.class);
+        interceptor = new RateLimitInterceptor(rateLimiter, Mockito.mock(LocalRateLimiter.class), environment);
+    }
+
+    @Test
+    @DisplayName("Resolved Limits Test")
+    @SuppressWarnings("unchecked")
+    public void resolvedLimitsTest() throws Exception {
+
+        when(rateLimiter.acquire(eq("test"), any())).thenReturn(new RateLimiter.Decision(true, 2, Duration.ZERO));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("email", "  User@Example.COM ");
+
+        assert(interceptor.preHandle(request, new MockHttpServletResponse(), handler("limited")));
+
+        ArgumentCaptor<List<RateLimiter.Limit>> limits = ArgumentCaptor.forClass(List.class);
+        verify(rateLimiter).acquire(eq("test"), limits.capture());
+
+        // The IP limit is disabled, only the email limit is checked
+        assert(limits.getValue().size() == 1);
+
+        RateLimiter.Limit limit = limits.getValue().getFirst();
+
+        assert(limit.key() == RateLimitKey.EMAIL);
+        assert(limit.value().equals("user@example.com"));
+        assert(limit.limit() == 3);
+        assert(limit.period().equals(Duration.ofHours(1)));
+
+    }
+
+    @Test
+    @DisplayName("Limited Request Test")
+    public void limitedRequestTest() throws Exception {
+
+        when(rateLimiter.acquire(eq("test"), any())).thenReturn(new RateLimiter.Decision(false, 0, Duration.ofMinutes(20)));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("email", "user@example.com");
+
+        try {
+            interceptor.preHandle(request, new MockHttpServletResponse(), handler("limited"));
+            assert(false);
+        } catch (TooManyRequests e) {
+            assert(e.getRetryAfter().equals(Duration.ofMinutes(20)));
+        }
+
+    }
+
+    @Test
+    @DisplayName("Unannotated Handler Test")
+    public void unannotatedHandlerTest() throws Exception {
+
+        assert(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler("unlimited")));
+
+        verify(rateLimiter, never()).acquire(any(), any());
+
+    }
+
+    private HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    public static class Endpoints {
+
+        @RateLimit(name = "test", key = RateLimitKey.EMAIL, limit = "${test.limit.email}", period = "${test.period}")
+        @RateLimit(name = "test", key = RateLimitKey.IP, limit = "${test.limit.ip}", period = "${test.period}")
+        public void limited() {
+        }
+
+        public void unlimited() {
+        }
+
+    }
+
+}
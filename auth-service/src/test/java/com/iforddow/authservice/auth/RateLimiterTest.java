@@ -0,0 +1,110 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.ratelimit.RateLimitKey;
+import com.iforddow.authservice.common.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Rate Limiter Tests")
+public class RateLimiterTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final LinkedList<List<String>> replies = new LinkedList<>();
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+
+        StringRedisTemplate stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        RedisScript<List> rateLimitScript = Mockito.mock(RedisScript.class);
+
+        // Record every script call as its keys and arguments and answer with the next queued reply
+        when(stringRedisTemplate.execute(same(rateLimitScript), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            calls.add(arguments[1] + " " + Arrays.toString(Arrays.copyOfRange(arguments, 2, arguments.length)));
+            return replies.removeFirst();
+        });
+
+        rateLimiter = new RateLimiter(stringRedisTemplate, new SimpleMeterRegistry(), rateLimitScript);
+        ReflectionTestUtils.setField(rateLimiter, "rateLimitPrefix", "rate:limit:");
+    }
+
+    private static List<String> allowed(long remaining) {
+        return List.of("1", String.valueOf(remaining), "0");
+    }
+
+    private static List<String> limited(long retryAfterMs) {
+        return List.of("0", "0", String.valueOf(retryAfterMs));
+    }
+
+    private static List<RateLimiter.Limit> limits() {
+        return List.of(
+                new RateLimiter.Limit(RateLimitKey.IP, "10.0.0.1", 10, Duration.ofMinutes(1)),
+                new RateLimiter.Limit(RateLimitKey.EMAIL, "user@example.com", 3, Duration.ofHours(1))
+        );
+    }
+
+    @Test
+    @DisplayName("Single Call Test")
+    public void singleCallTest() {
+
+        replies.add(allowed(1));
+
+        RateLimiter.Decision decision = rateLimiter.acquire("login", limits());
+
+        assert(decision.allowed());
+        assert(decision.remaining() == 1);
+
+        // Every limit is checked and consumed in one call, with the keys in one slot
+        assert(calls.equals(List.of(
+                "[rate:limit:{login}:ip:10.0.0.1, rate:limit:{login}:email:user@example.com] [10, 60000, 3, 3600000]"
+        )));
+
+    }
+
+    @Test
+    @DisplayName("Limited Test")
+    public void limitedTest() {
+
+        replies.add(limited(1200));
+
+        RateLimiter.Decision decision = rateLimiter.acquire("login", limits());
+
+        assert(!decision.allowed());
+        assert(decision.remaining() == 0);
+        assert(decision.retryAfter().equals(Duration.ofMillis(1200)));
+        assert(calls.size() == 1);
+
+    }
+
+    @Test
+    @DisplayName("No Limits Test")
+    public void noLimitsTest() {
+
+        RateLimiter.Decision decision = rateLimiter.acquire("login", List.of());
+
+        assert(decision.allowed());
+        assert(calls.isEmpty());
+
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.RegisteredEmailFilter;
+import com.iforddow.authservice.auth.cache.ScalableBloomFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Registered Email Filter Tests")
+public class RegisteredEmailFilterTest {
+
+    private static final String RECENT_KEY = "account:email:recent";
+
+    private JdbcTemplate jdbcTemplate;
+    private ZSetOperations<String, String> zSetOperations;
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+        zSetOperations = Mockito.mock(ZSetOperations.class);
+
+        StringRedisTemplate stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        registeredEmailFilter = new RegisteredEmailFilter(jdbcTemplate, Mockito.mock(PlatformTransactionManager.class),
+                stringRedisTemplate, Mockito.mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(registeredEmailFilter, "enabled", true);
+        ReflectionTestUtils.setField(registeredEmailFilter, "channel", "account:email:registered");
+        ReflectionTestUtils.setField(registeredEmailFilter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(registeredEmailFilter, "fpp", 0.001);
+        ReflectionTestUtils.setField(registeredEmailFilter, "fetchSize", 100);
+        ReflectionTestUtils.setField(registeredEmailFilter, "recentKey", RECENT_KEY);
+        ReflectionTestUtils.setField(registeredEmailFilter, "recentRetentionMs", 1800000L);
+
+        registeredEmailFilter.init();
+
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.001);
+        filter.put("known@example.com");
+
+        ReflectionTestUtils.setField(registeredEmailFilter, "filter", filter);
+        ReflectionTestUtils.setField(registeredEmailFilter, "builtAt", System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Unknown Email Test")
+    public void unknownEmailTest() {
+
+        when(zSetOperations.score(RECENT_KEY, "unknown@example.com")).thenReturn(null);
+
+        assert(registeredEmailFilter.mightExist("Known@Example.com"));
+        assert(!registeredEmailFilter.mightExist("unknown@example.com"));
+
+    }
+
+    @Test
+    @DisplayName("Missed Registration Test")
+    public void missedRegistrationTest() {
+
+        // Registered on another node, the broadcast never arrived here
+        when(zSetOperations.score(RECENT_KEY, "missed@example.com")).thenReturn(1.0);
+
+        assert(registeredEmailFilter.mightExist("missed@example.com"));
+
+    }
+
+    @Test
+    @DisplayName("Stale Filter Test")
+    public void staleFilterTest() {
+
+        ReflectionTestUtils.setField(registeredEmailFilter, "builtAt", System.currentTimeMillis() - 3600000L);
+        when(zSetOperations.score(RECENT_KEY, "unknown@example.com")).thenReturn(null);
+
+        // Older than the recent registrations go back, so it is not trusted
+        assert(registeredEmailFilter.mightExist("unknown@example.com"));
+
+    }
+
+    @Test
+    @DisplayName("Redis Failure Test")
+    public void redisFailureTest() {
+
+        when(zSetOperations.score(RECENT_KEY, "unknown@example.com")).thenThrow(new IllegalStateException("down"));
+
+        assert(registeredEmailFilter.mightExist("unknown@example.com"));
+
+    }
+
+    @Test
+    @DisplayName("Resubscribe Rebuild Test")
+    public void resubscribeRebuildTest() {
+
+        byte[] channel = "account:email:registered".getBytes(StandardCharsets.UTF_8);
+
+        // The first subscription is left to the scheduled build
+        registeredEmailFilter.onChannelSubscribed(channel, 1);
+        verify(jdbcTemplate, times(0)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // A reconnect may have dropped registrations
+        registeredEmailFilter.onChannelSubscribed(channel, 1);
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+    }
+
+}
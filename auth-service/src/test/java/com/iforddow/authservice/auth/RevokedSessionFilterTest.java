@@ -0,0 +1,156 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import com.iforddow.authservice.auth.cache.RevokedSessionFilter;
+import com.iforddow.authservice.auth.cache.SessionNearCache;
+import com.iforddow.authservice.auth.cache.SessionTouchBuffer;
+import com.iforddow.authservice.auth.repository.redis.SessionIndexSweeper;
+import com.iforddow.authservice.auth.repository.redis.SessionKeyResolver;
+import com.iforddow.authservice.auth.repository.redis.SessionReadRouter;
+import com.iforddow.authservice.auth.repository.redis.SessionRepositoryImpl;
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.common.AuthProperties;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Revoked Session Filter Tests")
+public class RevokedSessionFilterTest {
+
+    private static final String SESSION_ID = "A5a2jP52OGHEcmMt0E8qCDQSS16N6Yj3_t44EsSxlIo";
+
+    private SessionKeyResolver sessionKeyResolver;
+    private SessionNearCache sessionNearCache;
+    private SessionReadRouter sessionReadRouter;
+    private ValueOperations<String, Session> valueOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        HashUtility hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", "HmacSHA256");
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", "test-secret-for-hmac");
+        hashUtility.init();
+
+        AuthProperties authProperties = Mockito.mock(AuthProperties.class);
+        when(authProperties.getSessionPrefix()).thenReturn("session:");
+
+        sessionKeyResolver = new SessionKeyResolver(authProperties, hashUtility, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sessionKeyResolver, "hashTags", false);
+        ReflectionTestUtils.setField(sessionKeyResolver, "signed", false);
+
+        sessionNearCache = Mockito.mock(SessionNearCache.class);
+        sessionReadRouter = Mockito.mock(SessionReadRouter.class);
+
+        RedisTemplate<String, Session> sessionRedisTemplate = Mockito.mock(RedisTemplate.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        when(sessionRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(sessionReadRouter.sessionReads(anyBoolean())).thenReturn(sessionRedisTemplate);
+    }
+
+    private RevokedSessionFilter filter(long expectedInsertions) {
+
+        RevokedSessionFilter revokedSessionFilter = new RevokedSessionFilter(Mockito.mock(StringRedisTemplate.class),
+                Mockito.mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(revokedSessionFilter, "enabled", true);
+        ReflectionTestUtils.setField(revokedSessionFilter, "channel", "session:revoked");
+        ReflectionTestUtils.setField(revokedSessionFilter, "bucketCount", 4);
+        ReflectionTestUtils.setField(revokedSessionFilter, "expectedInsertions", expectedInsertions);
+        ReflectionTestUtils.setField(revokedSessionFilter, "fpp", 0.000000001);
+
+        revokedSessionFilter.init();
+
+        return revokedSessionFilter;
+    }
+
+    private SessionRepositoryImpl repository(RevokedSessionFilter revokedSessionFilter) {
+
+        SessionRepositoryImpl repository = new SessionRepositoryImpl(
+                Mockito.mock(RedisTemplate.class),
+                Mockito.mock(StringRedisTemplate.class),
+                sessionKeyResolver,
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(RedisScript.class),
+                sessionNearCache,
+                Mockito.mock(SessionTouchBuffer.class),
+                sessionReadRouter,
+                revokedSessionFilter,
+                Mockito.mock(AccountActivityBuffer.class),
+                Mockito.mock(SessionIndexSweeper.class)
+        );
+
+        ReflectionTestUtils.setField(repository, "sessionStorage", "string");
+
+        return repository;
+    }
+
+    @Test
+    @DisplayName("Revoked Session Rejected In Process Test")
+    public void revokedSessionRejectedInProcessTest() {
+
+        String hashedSessionId = sessionKeyResolver.storedSessionId(SESSION_ID);
+
+        // Revoked on another node, this node's near cache has not been invalidated yet
+        when(sessionNearCache.get(hashedSessionId)).thenReturn(Session.builder()
+                .sessionId(hashedSessionId)
+                .accountId(UUID.randomUUID())
+                .expiresAt(Instant.now().plusSeconds(600))
+                .build());
+
+        RevokedSessionFilter revokedSessionFilter = filter(1000);
+        revokedSessionFilter.revoked(List.of(hashedSessionId));
+
+        assert(repository(revokedSessionFilter).findById(SESSION_ID) == null);
+
+        verify(sessionNearCache, never()).get(anyString());
+        verify(sessionReadRouter, never()).sessionReads(anyBoolean());
+
+    }
+
+    @Test
+    @DisplayName("Overfilled Filter Confirms On Primary Test")
+    public void overfilledFilterConfirmsOnPrimaryTest() {
+
+        String hashedSessionId = sessionKeyResolver.storedSessionId(SESSION_ID);
+
+        // Far more revocations than the filter was sized for
+        RevokedSessionFilter revokedSessionFilter = filter(10);
+
+        for(int i = 0; i < 1000; i++) {
+            revokedSessionFilter.revoked(List.of(UUID.randomUUID().toString()));
+        }
+
+        revokedSessionFilter.revoked(List.of(hashedSessionId));
+
+        assert(revokedSessionFilter.overfilled());
+        assert(repository(revokedSessionFilter).findById(SESSION_ID) == null);
+
+        verify(sessionReadRouter).sessionReads(false);
+        verify(valueOperations).get("session:" + hashedSessionId);
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.RotatingBloomFilter;
+import com.iforddow.authservice.common.utility.SecureTokenGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("Rotating Bloom Filter Tests")
+public class RotatingBloomFilterTest {
+
+    private final SecureTokenGenerator generator = new SecureTokenGenerator();
+
+    private List<String> ids(int count) {
+        List<String> ids = new ArrayList<>(count);
+
+        for(int i = 0; i < count; i++) {
+            ids.add(generator.sessionId());
+        }
+
+        return ids;
+    }
+
+    @Test
+    @DisplayName("No False Negatives Test")
+    public void noFalseNegativesTest() {
+
+        RotatingBloomFilter filter = new RotatingBloomFilter(4, 10_000, 0.001);
+        List<String> revoked = ids(10_000);
+
+        revoked.forEach(filter::put);
+
+        assert(revoked.stream().allMatch(filter::mightContain));
+
+    }
+
+    @Test
+    @DisplayName("False Positive Rate Test")
+    public void falsePositiveRateTest() {
+
+        RotatingBloomFilter filter = new RotatingBloomFilter(4, 10_000, 0.01);
+
+        // Fill every bucket to its expected size
+        for(int i = 0; i < 4; i++) {
+            ids(10_000).forEach(filter::put);
+
+            if(i < 3) {
+                filter.rotate();
+            }
+        }
+
+        long falsePositives = ids(100_000).stream().filter(filter::mightContain).count();
+
+        // Target 1%, allow for sampling noise
+        assert(falsePositives < 1_300);
+        assert(Math.abs(filter.expectedFpp() - 0.01) < 0.003);
+
+    }
+
+    @Test
+    @DisplayName("Rotation Forgets Oldest Bucket Test")
+    public void rotationTest() {
+
+        RotatingBloomFilter filter = new RotatingBloomFilter(3, 1_000, 0.0001);
+
+        filter.put("revoked-session");
+
+        filter.rotate();
+        filter.rotate();
+
+        assert(filter.mightContain("revoked-session"));
+
+        filter.rotate();
+
+        assert(!filter.mightContain("revoked-session"));
+        assert(filter.expectedFpp() == 0);
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.ScalableBloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Scalable Bloom Filter Tests")
+public class ScalableBloomFilterTest {
+
+    @Test
+    @DisplayName("Growth Test")
+    public void growthTest() {
+
+        // Sized for 1000, filled with 20000
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.001);
+
+        for(int i = 0; i < 20_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        assert(filter.stageCount() > 1);
+        assert(filter.size() == 20_000);
+
+        // Never a false negative, whichever stage a value went to
+        for(int i = 0; i < 20_000; i++) {
+            assert(filter.mightContain("user" + i + "@example.com"));
+        }
+
+    }
+
+    @Test
+    @DisplayName("False Positive Rate Test")
+    public void falsePositiveRateTest() {
+
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+
+        for(int i = 0; i < 50_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+
+        for(int i = 0; i < 100_000; i++) {
+            if(filter.mightContain("unknown" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        // The target holds for all stages together, with some slack for the sample
+        assert(falsePositives / 100_000d < 0.01 * 1.5);
+        assert(filter.expectedFpp() < 0.01);
+
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.utility.SecureTokenGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+* The statistical thresholds sit around p = 1e-6, so a correct
+* generator fails them about once in a million runs.
+* */
+@DisplayName("Secure Token Generator Tests")
+public class SecureTokenGeneratorTest {
+
+    private static final String URL_SAFE_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    private SecureTokenGenerator generator;
+
+    @BeforeEach
+    public void setUp() {
+        generator = new SecureTokenGenerator();
+    }
+
+    private static double chiSquare(long[] observed, double expected) {
+        double sum = 0;
+
+        for(long count : observed) {
+            sum += (count - expected) * (count - expected) / expected;
+        }
+
+        return sum;
+    }
+
+    @Test
+    @DisplayName("Session ID Format Test")
+    public void sessionIdFormatTest() {
+
+        for(int i = 0; i < 1_000; i++) {
+            String sessionId = generator.sessionId();
+
+            assert(sessionId.length() == 43);
+            assert(sessionId.chars().allMatch(c -> URL_SAFE_ALPHABET.indexOf(c) >= 0));
+            assert(Base64.getUrlDecoder().decode(sessionId).length == SecureTokenGenerator.SESSION_ID_BYTES);
+        }
+
+    }
+
+    @Test
+    @DisplayName("Session ID Character Distribution Test")
+    public void sessionIdDistributionTest() {
+
+        long[] counts = new long[64];
+        int ids = 20_000;
+
+        for(int i = 0; i < ids; i++) {
+            String sessionId = generator.sessionId();
+
+            // The last character only carries 4 bits, so it is left out
+            for(int j = 0; j < 42; j++) {
+                counts[URL_SAFE_ALPHABET.indexOf(sessionId.charAt(j))]++;
+            }
+        }
+
+        // 63 degrees of freedom
+        assert(chiSquare(counts, ids * 42 / 64.0) < 140);
+
+    }
+
+    @Test
+    @DisplayName("Byte Distribution Test")
+    public void byteDistributionTest() {
+
+        long[] counts = new long[256];
+        long ones = 0;
+        byte[] bytes = new byte[1000];
+
+        // Odd sized reads cross the buffer boundary at varying offsets
+        for(int i = 0; i < 1000; i++) {
+            generator.nextBytes(bytes, 0, bytes.length);
+
+            for(byte b : bytes) {
+                counts[b & 0xFF]++;
+                ones += Integer.bitCount(b & 0xFF);
+            }
+        }
+
+        // 255 degrees of freedom
+        assert(chiSquare(counts, 1_000_000 / 256.0) < 400);
+
+        // Monobit: 8 million bits, six standard deviations either side
+        assert(Math.abs(ones - 4_000_000) < 6 * Math.sqrt(2_000_000));
+
+    }
+
+    @Test
+    @DisplayName("Numeric Code Distribution Test")
+    public void numericCodeDistributionTest() {
+
+        long[] counts = new long[10];
+        long[] firstDigit = new long[10];
+        int codes = 100_000;
+
+        for(int i = 0; i < codes; i++) {
+            String code = generator.numericCode(6);
+
+            assert(code.length() == 6);
+
+            for(int j = 0; j < 6; j++) {
+                counts[code.charAt(j) - '0']++;
+            }
+
+            firstDigit[code.charAt(0) - '0']++;
+        }
+
+        // 9 degrees of freedom, for all digits and for a single position
+        assert(chiSquare(counts, codes * 6 / 10.0) < 45);
+        assert(chiSquare(firstDigit, codes / 10.0) < 45);
+
+    }
+
+    @Test
+    @DisplayName("Concurrent Uniqueness Test")
+    public void concurrentUniquenessTest() throws Exception {
+
+        Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<Future<?>> futures = new ArrayList<>();
+
+            for(int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    Set<String> local = new HashSet<>();
+
+                    for(int j = 0; j < 2_000; j++) {
+                        local.add(generator.sessionId());
+                    }
+
+                    sessionIds.addAll(local);
+                }));
+            }
+
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Stripes must never hand the same bytes to two callers
+        assert(sessionIds.size() == 64 * 2_000);
+
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import com.iforddow.authservice.auth.cache.RevokedSessionFilter;
+import com.iforddow.authservice.auth.cache.SessionNearCache;
+import com.iforddow.authservice.auth.cache.SessionTouchBuffer;
+import com.iforddow.authservice.auth.repository.redis.SessionIndexSweeper;
+import com.iforddow.authservice.auth.repository.redis.SessionKeyResolver;
+import com.iforddow.authservice.auth.repository.redis.SessionReadRouter;
+import com.iforddow.authservice.auth.repository.redis.SessionRepositoryImpl;
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.common.AuthProperties;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Session Hash Storage Tests")
+public class SessionHashStorageTest {
+
+    private static final String WRONGTYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+    private final UUID accountId = UUID.randomUUID();
+
+    private RedisTemplate<String, Session> sessionRedisTemplate;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisScript<Long> sessionRefreshHashScript;
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> sessionSaveHashScript;
+    private SessionReadRouter sessionReadRouter;
+    private SessionRepositoryImpl repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        AuthProperties authProperties = Mockito.mock(AuthProperties.class);
+        when(authProperties.getSessionPrefix()).thenReturn("session:");
+        when(authProperties.getAccountSessionPrefix()).thenReturn("account:sessions:");
+
+        HashUtility hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", "HmacSHA256");
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", "test-secret-for-hmac");
+        hashUtility.init();
+
+        SessionKeyResolver sessionKeyResolver = new SessionKeyResolver(authProperties, hashUtility, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sessionKeyResolver, "hashTags", false);
+
+        sessionRedisTemplate = Mockito.mock(RedisTemplate.class);
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        sessionRefreshHashScript = Mockito.mock(RedisScript.class);
+        sessionSaveHashScript = Mockito.mock(RedisScript.class);
+        sessionReadRouter = Mockito.mock(SessionReadRouter.class);
+
+        when(sessionRefreshHashScript.getScriptAsString()).thenReturn("return 1");
+        when(sessionRefreshHashScript.getSha1()).thenReturn("sha");
+        when(sessionReadRouter.sessionReads(false)).thenReturn(sessionRedisTemplate);
+        when(sessionReadRouter.stringReads(false)).thenReturn(stringRedisTemplate);
+
+        repository = new SessionRepositoryImpl(
+                sessionRedisTemplate,
+                stringRedisTemplate,
+                sessionKeyResolver,
+                Mockito.mock(RedisScript.class),
+                sessionSaveHashScript,
+                sessionRefreshHashScript,
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(SessionNearCache.class),
+                Mockito.mock(SessionTouchBuffer.class),
+                sessionReadRouter,
+                Mockito.mock(RevokedSessionFilter.class),
+                Mockito.mock(AccountActivityBuffer.class),
+                Mockito.mock(SessionIndexSweeper.class)
+        );
+
+        ReflectionTestUtils.setField(repository, "sessionStorage", "hash");
+        ReflectionTestUtils.setField(repository, "maxSessions", 5);
+    }
+
+    private Session session(String sessionId) {
+        return Session.builder()
+                .sessionId(sessionId)
+                .accountId(accountId)
+                .createdAt(Instant.ofEpochSecond(1000))
+                .expiresAt(Instant.ofEpochSecond(2000))
+                .hardExpiration(Instant.ofEpochSecond(3000))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    @Test
+    @DisplayName("Mixed Hash And Legacy Sessions Test")
+    @SuppressWarnings("unchecked")
+    public void mixedHashAndLegacySessionsTest() {
+
+        ZSetOperations<String, String> zSetOperations = Mockito.mock(ZSetOperations.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range("account:sessions:" + accountId, 0, -1))
+                .thenReturn(new LinkedHashSet<>(List.of("hashed", "legacy")));
+
+        // Raw HMGET values of the hash session, in SessionHashMapper.FIELDS order
+        List<byte[]> hashValues = Arrays.asList(
+                bytes("hashed"), bytes(accountId.toString()), bytes("1000"), null, null, bytes("2000"), bytes("3000"));
+
+        // The string-valued key fails its own HMGET, which fails the whole pipeline
+        List<Object> results = new ArrayList<>();
+        results.add(hashValues);
+        results.add(new InvalidDataAccessApiUsageException(WRONGTYPE));
+
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(
+                new RedisPipelineException(new InvalidDataAccessApiUsageException(WRONGTYPE), results));
+
+        ValueOperations<String, Session> valueOperations = Mockito.mock(ValueOperations.class);
+        when(sessionRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("session:legacy"))).thenReturn(List.of(session("legacy")));
+
+        List<Session> sessions = repository.findAllByAccountId(accountId);
+
+        assert(sessions.size() == 2);
+        assert(sessions.get(0).getSessionId().equals("hashed"));
+        assert(sessions.get(0).getExpiresAt().equals(Instant.ofEpochSecond(2000)));
+        assert(sessions.get(1).getSessionId().equals("legacy"));
+
+    }
+
+    @Test
+    @DisplayName("Dead Ids Removed Together Test")
+    @SuppressWarnings("unchecked")
+    public void deadIdsRemovedTogetherTest() {
+
+        ZSetOperations<String, String> zSetOperations = Mockito.mock(ZSetOperations.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range("account:sessions:" + accountId, 0, -1))
+                .thenReturn(new LinkedHashSet<>(List.of("hashed", "expired", "revoked")));
+
+        List<byte[]> hashValues = Arrays.asList(
+                bytes("hashed"), bytes(accountId.toString()), bytes("1000"), null, null, bytes("2000"), bytes("3000"));
+        List<byte[]> missing = Arrays.asList(new byte[7][]);
+
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(hashValues, missing, missing));
+
+        assert(repository.findAllByAccountId(accountId).size() == 1);
+
+        // Both dead IDs go in one ZREM
+        verify(zSetOperations, times(1)).remove(any(), any(Object[].class));
+        verify(zSetOperations).remove("account:sessions:" + accountId, "expired", "revoked");
+
+    }
+
+    @Test
+    @DisplayName("Other Pipeline Failure Test")
+    @SuppressWarnings("unchecked")
+    public void otherPipelineFailureTest() {
+
+        ZSetOperations<String, String> zSetOperations = Mockito.mock(ZSetOperations.class);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.range("account:sessions:" + accountId, 0, -1))
+                .thenReturn(new LinkedHashSet<>(List.of("hashed")));
+
+        List<Object> results = new ArrayList<>();
+        results.add(new InvalidDataAccessApiUsageException("OOM command not allowed"));
+
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(
+                new RedisPipelineException(new InvalidDataAccessApiUsageException("OOM command not allowed"), results));
+
+        boolean thrown = false;
+
+        try {
+            repository.findAllByAccountId(accountId);
+        } catch (RedisPipelineException e) {
+            thrown = true;
+        }
+
+        // Only WRONGTYPE falls back to legacy reads
+        assert(thrown);
+
+    }
+
+    @Test
+    @DisplayName("Untagged Evicted Sessions Unlinked Test")
+    @SuppressWarnings("unchecked")
+    public void untaggedEvictedSessionsUnlinkedTest() {
+
+        // The save script only unlinks evicted keys that share the slot of the index
+        when(stringRedisTemplate.execute(eq(sessionSaveHashScript), any(List.class), any(Object[].class)))
+                .thenReturn(List.of("untagged", "{" + accountId + "}:tagged"));
+
+        repository.save(session("raw-session-id"));
+
+        verify(stringRedisTemplate).unlink(List.of("session:untagged"));
+
+    }
+
+    @Test
+    @DisplayName("Legacy Session Refresh Test")
+    @SuppressWarnings("unchecked")
+    public void legacySessionRefreshTest() {
+
+        // The refresh script reports the legacy key instead of failing on it
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(1L, 2L, 0L))
+                .thenReturn(List.of(true));
+
+        int refreshed = repository.refreshAll(List.of(session("hashed"), session("legacy"), session("revoked")));
+
+        assert(refreshed == 2);
+
+    }
+
+    @Test
+    @DisplayName("Refresh Script Not Cached Test")
+    @SuppressWarnings("unchecked")
+    public void refreshScriptNotCachedTest() {
+
+        RedisScriptingCommands scriptingCommands = Mockito.mock(RedisScriptingCommands.class);
+        RedisConnection connection = Mockito.mock(RedisConnection.class);
+        when(connection.scriptingCommands()).thenReturn(scriptingCommands);
+
+        // The server lost its script cache, EVALSHA fails once and EVAL sends the script
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+            throw new RedisPipelineException(new InvalidDataAccessApiUsageException("NOSCRIPT No matching script"), List.of());
+        }).thenAnswer(invocation -> {
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of(1L);
+        });
+
+        assert(repository.refreshAll(List.of(session("hashed"))) == 1);
+
+        InOrder order = Mockito.inOrder(scriptingCommands);
+        order.verify(scriptingCommands).evalSha(eq(bytes("sha")), eq(ReturnType.INTEGER), eq(1), any(byte[][].class));
+        order.verify(scriptingCommands).eval(eq(bytes("return 1")), eq(ReturnType.INTEGER), eq(1), any(byte[][].class));
+
+    }
+
+}
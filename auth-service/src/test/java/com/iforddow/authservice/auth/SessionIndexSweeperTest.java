@@ -0,0 +1,115 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.repository.redis.SessionIndexSweeper;
+import com.iforddow.authsession.common.AuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Session Index Sweeper Tests")
+public class SessionIndexSweeperTest {
+
+    private static final String DIRTY_KEY = "session:sweeper:dirty";
+
+    private StringRedisTemplate stringRedisTemplate;
+    private ZSetOperations<String, String> zSetOperations;
+    @SuppressWarnings("rawtypes")
+    private RedisScript<List> sessionIndexSweepScript;
+    private SessionIndexSweeper sweeper;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+
+        AuthProperties authProperties = Mockito.mock(AuthProperties.class);
+        when(authProperties.getSessionPrefix()).thenReturn("session:");
+
+        stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        zSetOperations = Mockito.mock(ZSetOperations.class);
+        sessionIndexSweepScript = Mockito.mock(RedisScript.class);
+
+        ValueOperations<String, String> valueOperations = Mockito.mock(ValueOperations.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        sweeper = new SessionIndexSweeper(authProperties, stringRedisTemplate, sessionIndexSweepScript, new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(sweeper, "enabled", true);
+        ReflectionTestUtils.setField(sweeper, "intervalMs", 30000L);
+        ReflectionTestUtils.setField(sweeper, "batchSize", 2);
+        ReflectionTestUtils.setField(sweeper, "dirtyKey", DIRTY_KEY);
+        ReflectionTestUtils.setField(sweeper, "lockKey", "session:sweeper:lock");
+        ReflectionTestUtils.setField(sweeper, "sessionTtlSeconds", 604800L);
+
+        sweeper.init();
+    }
+
+    @Test
+    @DisplayName("Mark Dirty Test")
+    public void markDirtyTest() {
+
+        sweeper.markDirty("account:sessions:a", Instant.ofEpochSecond(5000));
+
+        // An index already waiting keeps its earlier due time
+        verify(zSetOperations).addIfAbsent(DIRTY_KEY, "account:sessions:a", 5000);
+
+    }
+
+    @Test
+    @DisplayName("Sweep Due Indexes Test")
+    @SuppressWarnings("unchecked")
+    public void sweepDueIndexesTest() {
+
+        when(zSetOperations.rangeByScore(eq(DIRTY_KEY), eq(0.0), anyDouble(), eq(0L), eq(2L)))
+                .thenReturn(new LinkedHashSet<>(List.of("account:sessions:a", "account:sessions:b")));
+
+        // The first index is emptied, the second still holds a live session
+        when(stringRedisTemplate.execute(sessionIndexSweepScript, List.of("account:sessions:a"), "session:"))
+                .thenReturn(List.of(2L, 0L));
+        when(stringRedisTemplate.execute(sessionIndexSweepScript, List.of("account:sessions:b"), "session:"))
+                .thenReturn(List.of(1L, 1L));
+
+        sweeper.sweep();
+
+        verify(zSetOperations).remove(DIRTY_KEY, "account:sessions:a");
+        verify(zSetOperations).add(eq(DIRTY_KEY), eq("account:sessions:b"), anyDouble());
+        verify(zSetOperations, never()).remove(DIRTY_KEY, "account:sessions:b");
+
+    }
+
+    @Test
+    @DisplayName("Nothing Due Test")
+    public void nothingDueTest() {
+
+        when(zSetOperations.rangeByScore(eq(DIRTY_KEY), eq(0.0), anyDouble(), anyLong(), anyLong()))
+                .thenReturn(new LinkedHashSet<>());
+
+        sweeper.sweep();
+
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), any(List.class), any());
+
+    }
+
+}
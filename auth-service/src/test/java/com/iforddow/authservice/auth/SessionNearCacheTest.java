@@ -0,0 +1,156 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.cache.AccountActivityBuffer;
+import com.iforddow.authservice.auth.cache.RevokedSessionFilter;
+import com.iforddow.authservice.auth.cache.SessionNearCache;
+import com.iforddow.authservice.auth.cache.SessionTouchBuffer;
+import com.iforddow.authservice.auth.repository.redis.SessionIndexSweeper;
+import com.iforddow.authservice.auth.repository.redis.SessionKeyResolver;
+import com.iforddow.authservice.auth.repository.redis.SessionReadRouter;
+import com.iforddow.authservice.auth.repository.redis.SessionRepositoryImpl;
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.common.AuthProperties;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Session Near Cache Tests")
+public class SessionNearCacheTest {
+
+    private static final String SESSION_ID = "A5a2jP52OGHEcmMt0E8qCDQSS16N6Yj3_t44EsSxlIo";
+
+    private SessionKeyResolver sessionKeyResolver;
+    private SessionNearCache sessionNearCache;
+    private ValueOperations<String, Session> valueOperations;
+    private SessionRepositoryImpl repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+
+        HashUtility hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", "HmacSHA256");
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", "test-secret-for-hmac");
+        hashUtility.init();
+
+        AuthProperties authProperties = Mockito.mock(AuthProperties.class);
+        when(authProperties.getSessionPrefix()).thenReturn("session:");
+
+        sessionKeyResolver = new SessionKeyResolver(authProperties, hashUtility, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sessionKeyResolver, "hashTags", false);
+        ReflectionTestUtils.setField(sessionKeyResolver, "signed", false);
+
+        sessionNearCache = new SessionNearCache(Mockito.mock(StringRedisTemplate.class),
+                Mockito.mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(sessionNearCache, "enabled", true);
+        ReflectionTestUtils.setField(sessionNearCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(sessionNearCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(sessionNearCache, "invalidationChannel", "session:invalidation");
+
+        sessionNearCache.init();
+
+        SessionReadRouter sessionReadRouter = Mockito.mock(SessionReadRouter.class);
+        RedisTemplate<String, Session> sessionRedisTemplate = Mockito.mock(RedisTemplate.class);
+        valueOperations = Mockito.mock(ValueOperations.class);
+        when(sessionRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(sessionReadRouter.sessionReads(anyBoolean())).thenReturn(sessionRedisTemplate);
+
+        repository = new SessionRepositoryImpl(
+                Mockito.mock(RedisTemplate.class),
+                Mockito.mock(StringRedisTemplate.class),
+                sessionKeyResolver,
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(RedisScript.class),
+                Mockito.mock(RedisScript.class),
+                sessionNearCache,
+                Mockito.mock(SessionTouchBuffer.class),
+                sessionReadRouter,
+                Mockito.mock(RevokedSessionFilter.class),
+                Mockito.mock(AccountActivityBuffer.class),
+                Mockito.mock(SessionIndexSweeper.class)
+        );
+
+        ReflectionTestUtils.setField(repository, "sessionStorage", "string");
+    }
+
+    private Session session(String hashedSessionId) {
+        return Session.builder()
+                .sessionId(hashedSessionId)
+                .accountId(UUID.randomUUID())
+                .expiresAt(Instant.now().plusSeconds(600))
+                .hardExpiration(Instant.now().plusSeconds(3600))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Loaded Session Cached Test")
+    public void loadedSessionCachedTest() {
+
+        String hashedSessionId = sessionKeyResolver.storedSessionId(SESSION_ID);
+        when(valueOperations.get("session:" + hashedSessionId)).thenReturn(session(hashedSessionId));
+
+        assert(repository.findById(SESSION_ID) != null);
+        assert(sessionNearCache.get(hashedSessionId) != null);
+
+    }
+
+    @Test
+    @DisplayName("Invalidation During Load Test")
+    public void invalidationDuringLoadTest() {
+
+        String hashedSessionId = sessionKeyResolver.storedSessionId(SESSION_ID);
+
+        // Another node revokes the session after the read, before the lookup caches it
+        when(valueOperations.get("session:" + hashedSessionId)).thenAnswer(invocation -> {
+            sessionNearCache.onMessage(new DefaultMessage(
+                    "session:invalidation".getBytes(StandardCharsets.UTF_8),
+                    hashedSessionId.getBytes(StandardCharsets.UTF_8)), null);
+            return session(hashedSessionId);
+        });
+
+        repository.findById(SESSION_ID);
+
+        // The revoked session is not put back into the cache
+        assert(sessionNearCache.get(hashedSessionId) == null);
+
+    }
+
+    @Test
+    @DisplayName("Stale Put Skipped Test")
+    public void stalePutSkippedTest() {
+
+        long generation = sessionNearCache.generation("revoked");
+
+        sessionNearCache.invalidate(List.of("revoked"));
+        sessionNearCache.put(session("revoked"), generation);
+
+        assert(sessionNearCache.get("revoked") == null);
+
+        // A load started after the invalidation caches normally
+        sessionNearCache.put(session("revoked"), sessionNearCache.generation("revoked"));
+
+        assert(sessionNearCache.get("revoked") != null);
+
+    }
+
+}
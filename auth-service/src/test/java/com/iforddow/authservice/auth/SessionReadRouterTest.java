@@ -0,0 +1,98 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.repository.redis.SessionReadRouter;
+import com.iforddow.authsession.entity.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Session Read Router Tests")
+public class SessionReadRouterTest {
+
+    private ValueOperations<String, String> primaryValues;
+    private ValueOperations<String, String> replicaValues;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        primaryValues = Mockito.mock(ValueOperations.class);
+        replicaValues = Mockito.mock(ValueOperations.class);
+    }
+
+    // A router with its replica connections swapped for mocks
+    @SuppressWarnings("unchecked")
+    private SessionReadRouter router() {
+
+        StringRedisTemplate stringRedisTemplate = Mockito.mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(primaryValues);
+
+        StringRedisTemplate heartbeatTemplate = Mockito.mock(StringRedisTemplate.class);
+        when(heartbeatTemplate.opsForValue()).thenReturn(replicaValues);
+
+        SessionReadRouter sessionReadRouter = new SessionReadRouter(Mockito.mock(RedisTemplate.class),
+                stringRedisTemplate, new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(sessionReadRouter, "enabled", true);
+        ReflectionTestUtils.setField(sessionReadRouter, "maxLagMs", 1000L);
+        ReflectionTestUtils.setField(sessionReadRouter, "heartbeatKey", "session:replica:heartbeat");
+        ReflectionTestUtils.setField(sessionReadRouter, "heartbeatTemplate", heartbeatTemplate);
+        ReflectionTestUtils.setField(sessionReadRouter, "replicaReads", new SimpleMeterRegistry().counter("replica"));
+        ReflectionTestUtils.setField(sessionReadRouter, "primaryReads", new SimpleMeterRegistry().counter("primary"));
+
+        return sessionReadRouter;
+    }
+
+    @Test
+    @DisplayName("Per Node Heartbeat Test")
+    public void perNodeHeartbeatTest() {
+
+        when(replicaValues.get(anyString())).thenReturn(String.valueOf(Instant.now().toEpochMilli()));
+
+        SessionReadRouter first = router();
+        SessionReadRouter second = router();
+
+        first.heartbeat();
+        second.heartbeat();
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(primaryValues, times(2)).set(keys.capture(), anyString(), any(Duration.class));
+
+        // Each node reads back only its own key
+        assert(keys.getAllValues().get(0).startsWith("session:replica:heartbeat:"));
+        assert(!keys.getAllValues().get(0).equals(keys.getAllValues().get(1)));
+        assert(first.useReplica());
+
+    }
+
+    @Test
+    @DisplayName("Lost Replica Unhealthy Test")
+    public void lostReplicaUnhealthyTest() {
+
+        // The replica-only connection has no node to read from
+        when(replicaValues.get(anyString())).thenThrow(new RedisConnectionFailureException("No replica available"));
+
+        SessionReadRouter sessionReadRouter = router();
+        sessionReadRouter.heartbeat();
+
+        assert(!sessionReadRouter.useReplica());
+
+    }
+
+}
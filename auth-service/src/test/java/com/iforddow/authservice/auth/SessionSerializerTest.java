@@ -0,0 +1,119 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.repository.redis.SessionRedisSerializer;
+import com.iforddow.authsession.entity.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+@DisplayName("Session Serializer Tests")
+public class SessionSerializerTest {
+
+    private ObjectMapper objectMapper;
+    private SessionRedisSerializer serializer;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        serializer = new SessionRedisSerializer(objectMapper);
+    }
+
+    private Session session(String userAgent) {
+
+        Instant now = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+
+        return Session.builder()
+                .sessionId("0pXf2x3Uq4l1k1q3Jm1sV7pZ2nEo0mE7VtZsGq2b9iU=")
+                .accountId(UUID.randomUUID())
+                .createdAt(now)
+                .ip("203.0.113.42")
+                .userAgent(userAgent)
+                .expiresAt(now.plusSeconds(604800))
+                .hardExpiration(now.plusSeconds(2592000))
+                .build();
+    }
+
+    private boolean sameSession(Session a, Session b) {
+        return Objects.equals(a.getSessionId(), b.getSessionId())
+                && Objects.equals(a.getAccountId(), b.getAccountId())
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt())
+                && Objects.equals(a.getIp(), b.getIp())
+                && Objects.equals(a.getUserAgent(), b.getUserAgent())
+                && Objects.equals(a.getExpiresAt(), b.getExpiresAt())
+                && Objects.equals(a.getHardExpiration(), b.getHardExpiration());
+    }
+
+    @Test
+    @DisplayName("Binary Round Trip Test")
+    public void binaryRoundTripTest() {
+
+        Session session = session("Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.0 Safari/605.1.15 é中");
+
+        Session decoded = serializer.deserialize(serializer.serialize(session));
+
+        assert(sameSession(session, decoded));
+
+    }
+
+    @Test
+    @DisplayName("Binary Null Field Test")
+    public void binaryNullFieldTest() {
+
+        Session session = session(null);
+
+        Session decoded = serializer.deserialize(serializer.serialize(session));
+
+        assert(decoded.getUserAgent() == null);
+        assert(sameSession(session, decoded));
+
+    }
+
+    @Test
+    @DisplayName("Binary Smaller Than JSON Test")
+    public void binarySmallerThanJsonTest() {
+
+        Session session = session("Mozilla/5.0");
+
+        byte[] json = new JacksonJsonRedisSerializer<>(objectMapper, Session.class).serialize(session);
+        byte[] binary = serializer.serialize(session);
+
+        assert(binary.length < json.length / 2);
+
+    }
+
+    @Test
+    @DisplayName("Legacy JSON Read Test")
+    public void legacyJsonReadTest() {
+
+        Session session = session("Mozilla/5.0");
+
+        byte[] json = new JacksonJsonRedisSerializer<>(objectMapper, Session.class).serialize(session);
+
+        assert(sameSession(session, serializer.deserialize(json)));
+
+    }
+
+    @Test
+    @DisplayName("Malformed Value Test")
+    public void malformedValueTest() {
+
+        byte[] truncated = new byte[] { 1, 0, 42 };
+
+        try {
+            serializer.deserialize(truncated);
+            assert(false);
+        } catch (SerializationException e) {
+            assert(true);
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.auth.repository.redis.SessionKeyResolver;
+import com.iforddow.authservice.common.utility.HashUtility;
+import com.iforddow.authsession.common.AuthProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@DisplayName("Signed Session ID Tests")
+public class SignedSessionIdTest {
+
+    private static final String RANDOM_ID = "A5a2jP52OGHEcmMt0E8qCDQSS16N6Yj3_t44EsSxlIo";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SessionKeyResolver resolver;
+
+    @BeforeEach
+    public void setUp() {
+        HashUtility hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", "HmacSHA256");
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", "test-secret-for-hmac");
+        hashUtility.init();
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        resolver = new SessionKeyResolver(Mockito.mock(AuthProperties.class), hashUtility, meterRegistry);
+        ReflectionTestUtils.setField(resolver, "hashTags", false);
+        ReflectionTestUtils.setField(resolver, "signed", true);
+        ReflectionTestUtils.setField(resolver, "acceptUnsigned", true);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.counter("session.id.rejected", "reason", reason).count();
+    }
+
+    @Test
+    @DisplayName("Valid Signed ID Test")
+    public void validSignedIdTest() {
+
+        String sessionId = resolver.newSessionId(UUID.randomUUID(), RANDOM_ID, Instant.now().plusSeconds(3600));
+
+        assert(resolver.verify(sessionId));
+
+        // Without hash tags the stored ID stays untagged, like an unsigned ID
+        assert(!resolver.storedSessionId(sessionId).startsWith("{"));
+
+    }
+
+    @Test
+    @DisplayName("Hash Tag Flag Test")
+    public void hashTagFlagTest() {
+
+        UUID accountId = UUID.randomUUID();
+
+        ReflectionTestUtils.setField(resolver, "hashTags", true);
+        String tagged = resolver.newSessionId(accountId, RANDOM_ID, Instant.now().plusSeconds(3600));
+
+        // The flag travels with the ID, so turning tags off later keeps its key
+        ReflectionTestUtils.setField(resolver, "hashTags", false);
+
+        assert(resolver.verify(tagged));
+        assert(resolver.storedSessionId(tagged).startsWith("{" + accountId + "}:"));
+
+    }
+
+    @Test
+    @DisplayName("Forged ID Test")
+    public void forgedIdTest() {
+
+        String sessionId = resolver.newSessionId(UUID.randomUUID(), RANDOM_ID, Instant.now().plusSeconds(3600));
+
+        // Swap in another account, keeping the original signature
+        String forged = resolver.newSessionId(UUID.randomUUID(), RANDOM_ID, Instant.now().plusSeconds(3600)).substring(0, 22)
+                + sessionId.substring(22);
+
+        assert(!resolver.verify(forged));
+        assert(rejected("forged") == 1);
+
+    }
+
+    @Test
+    @DisplayName("Hard Expired ID Test")
+    public void hardExpiredIdTest() {
+
+        String sessionId = resolver.newSessionId(UUID.randomUUID(), RANDOM_ID, Instant.now().minusSeconds(1));
+
+        assert(!resolver.verify(sessionId));
+        assert(rejected("expired") == 1);
+
+    }
+
+    @Test
+    @DisplayName("Malformed And Unsigned ID Test")
+    public void malformedAndUnsignedIdTest() {
+
+        assert(!resolver.verify("garbage"));
+        assert(!resolver.verify(null));
+        assert(!resolver.verify(RANDOM_ID.replace('A', '.')));
+        assert(rejected("malformed") == 3);
+
+        // Well formed IDs issued before signing was turned on stay valid until switched off
+        assert(resolver.verify(RANDOM_ID));
+
+        ReflectionTestUtils.setField(resolver, "acceptUnsigned", false);
+
+        assert(!resolver.verify(RANDOM_ID));
+
+    }
+
+}
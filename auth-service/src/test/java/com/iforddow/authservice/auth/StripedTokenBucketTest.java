@@ -0,0 +1,77 @@
+package com.iforddow.authservice.auth;
+
+import com.iforddow.authservice.common.ratelimit.StripedTokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("Striped Token Bucket Tests")
+public class StripedTokenBucketTest {
+
+    @Test
+    @DisplayName("Burst And Refill Test")
+    public void burstAndRefillTest() throws Exception {
+
+        // 5 tokens, refilled at 1000 per second
+        StripedTokenBucket buckets = new StripedTokenBucket(4, 64, 5, 1000);
+
+        for(int i = 0; i < 5; i++) {
+            assert(buckets.tryAcquire("10.0.0.1") == 0);
+        }
+
+        long wait = buckets.tryAcquire("10.0.0.1");
+
+        // Empty, the next token is at most a millisecond away
+        assert(wait > 0 && wait <= 1_000_000);
+
+        // Other keys have buckets of their own
+        assert(buckets.tryAcquire("10.0.0.2") == 0);
+
+        Thread.sleep(10);
+
+        assert(buckets.tryAcquire("10.0.0.1") == 0);
+
+    }
+
+    @Test
+    @DisplayName("Bounded Size Test")
+    public void boundedSizeTest() {
+
+        StripedTokenBucket buckets = new StripedTokenBucket(4, 64, 5, 1);
+
+        for(int i = 0; i < 100_000; i++) {
+            buckets.tryAcquire("user" + i + "@example.com");
+        }
+
+        // Never more keys than slots, the oldest were dropped
+        assert(buckets.size() <= 4 * 64);
+        assert(buckets.evictions() > 0);
+
+    }
+
+    @Test
+    @DisplayName("Concurrent Acquire Test")
+    public void concurrentAcquireTest() throws Exception {
+
+        // Refills one token a day, so only the burst is ever handed out
+        StripedTokenBucket buckets = new StripedTokenBucket(8, 64, 100, 1d / 86400);
+        AtomicInteger acquired = new AtomicInteger();
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(int i = 0; i < 1000; i++) {
+                executor.execute(() -> {
+                    if(buckets.tryAcquire("203.0.113.7") == 0) {
+                        acquired.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assert(acquired.get() == 100);
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.iforddow.authservice.benchmark;
+
+import com.iforddow.authservice.common.utility.HashUtility;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+* A JMH comparison of the per-call HMAC cost before and after pooling
+* pre-keyed Mac instances. The legacy method reproduces the original
+* HashUtility implementation.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashUtilityBenchmark {
+
+    private static final String ALGO = "HmacSHA256";
+    private static final String SECRET = "benchmark-secret-benchmark-secret";
+
+    private HashUtility hashUtility;
+
+    private final String sessionId = "u0Z6cJq1Jv4y2Xl0c3oXw9Zr8n5mQk1TQb6V4yq7m8E";
+    private final byte[] input = sessionId.getBytes();
+    private final byte[] output = new byte[32];
+    private final byte[] encoded = new byte[43];
+
+    @Setup
+    public void setUp() {
+        hashUtility = new HashUtility();
+        ReflectionTestUtils.setField(hashUtility, "hmacAlgo", ALGO);
+        ReflectionTestUtils.setField(hashUtility, "hmacSecret", SECRET);
+        hashUtility.init();
+    }
+
+    @Benchmark
+    public String legacy() throws Exception {
+        SecretKeySpec keySpec = new SecretKeySpec(SECRET.getBytes(), ALGO);
+        Mac mac = Mac.getInstance(ALGO);
+        mac.init(keySpec);
+
+        return Base64.getEncoder().encodeToString(mac.doFinal(sessionId.getBytes()));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String legacyContended() throws Exception {
+        return legacy();
+    }
+
+    @Benchmark
+    public String pooled() {
+        return hashUtility.hmacSha256(sessionId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String pooledContended() {
+        return hashUtility.hmacSha256(sessionId);
+    }
+
+    @Benchmark
+    public int pooledIntoBuffer() {
+        return hashUtility.hmacSha256(input, output, 0);
+    }
+
+    @Benchmark
+    public int pooledUrlSafeIntoBuffer() {
+        return hashUtility.hmacSha256UrlSafe(input, encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HashUtilityBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.iforddow.authservice.benchmark;
+
+import com.iforddow.authservice.common.utility.SecureTokenGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+* A JMH comparison of session ID and verification code generation
+* before and after moving to the buffered, striped generator. The
+* legacy methods reproduce SessionFactory.generateSessionId and
+* CodeGenerator.generateRandomCode.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecureTokenGeneratorBenchmark {
+
+    private SecureTokenGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new SecureTokenGenerator();
+    }
+
+    @Benchmark
+    public String legacySessionId() {
+        SecureRandom random = new SecureRandom();
+
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacySessionIdContended() {
+        return legacySessionId();
+    }
+
+    @Benchmark
+    public String sessionId() {
+        return generator.sessionId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String sessionIdContended() {
+        return generator.sessionId();
+    }
+
+    @Benchmark
+    public String legacyCode() {
+        StringBuilder code = new StringBuilder();
+
+        for (int i = 0; i < 6; i++) {
+            code.append((int) (Math.random() * 10));
+        }
+
+        return code.toString();
+    }
+
+    @Benchmark
+    public String numericCode() {
+        return generator.numericCode(6);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String numericCodeContended() {
+        return generator.numericCode(6);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecureTokenGeneratorBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+}
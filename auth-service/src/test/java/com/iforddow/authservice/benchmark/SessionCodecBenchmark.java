@@ -0,0 +1,93 @@
+package com.iforddow.authservice.benchmark;
+
+import com.iforddow.authservice.auth.repository.redis.SessionRedisSerializer;
+import com.iforddow.authsession.entity.Session;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* A JMH comparison of the Jackson JSON session codec against the
+* compact binary codec. Run the main method from the test classpath,
+* allocation figures are reported through the GC profiler.
+*
+* @author IFD
+* @since 2026-10-17
+* */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionCodecBenchmark {
+
+    private JacksonJsonRedisSerializer<Session> jsonSerializer;
+    private SessionRedisSerializer binarySerializer;
+
+    private Session session;
+    private byte[] jsonValue;
+    private byte[] binaryValue;
+
+    @Setup
+    public void setUp() {
+
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+
+        jsonSerializer = new JacksonJsonRedisSerializer<>(objectMapper, Session.class);
+        binarySerializer = new SessionRedisSerializer(objectMapper);
+
+        Instant now = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+
+        session = Session.builder()
+                .sessionId("0pXf2x3Uq4l1k1q3Jm1sV7pZ2nEo0mE7VtZsGq2b9iU=")
+                .accountId(UUID.randomUUID())
+                .createdAt(now)
+                .ip("203.0.113.42")
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/129.0.0.0 Safari/537.36")
+                .expiresAt(now.plusSeconds(604800))
+                .hardExpiration(now.plusSeconds(2592000))
+                .build();
+
+        jsonValue = jsonSerializer.serialize(session);
+        binaryValue = binarySerializer.serialize(session);
+
+        System.out.println("JSON bytes: " + jsonValue.length + ", binary bytes: " + binaryValue.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(session);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(session);
+    }
+
+    @Benchmark
+    public Session deserializeJson() {
+        return jsonSerializer.deserialize(jsonValue);
+    }
+
+    @Benchmark
+    public Session deserializeBinary() {
+        return binarySerializer.deserialize(binaryValue);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SessionCodecBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build()).run();
+    }
+
+}